@@ -3,6 +3,7 @@ val awsSdkVersion = "2.20.138"
 val junit5Version = "5.8.2"
 val logbackVersion = "1.2.10"
 val localstackVersion = "0.2.22"
+val jmhToolVersion = "1.36"
 val integrationOption = "tests.integration"
 
 group = "io.reactiverse"
@@ -15,6 +16,7 @@ plugins {
     jacoco
     id("org.sonarqube") version "3.3"
     id("com.github.ben-manes.versions") version "0.42.0"
+    id("me.champeau.jmh") version "0.7.1"
 }
 
 // In order to publish SNAPSHOTs to Sonatype Snapshots repository => the CI should define such `ossrhUsername` and `ossrhPassword` properties
@@ -46,6 +48,8 @@ fun isNonStable(version: String): Boolean {
 dependencies {
     api("io.vertx:vertx-core:$vertxVersion")
     api("software.amazon.awssdk:aws-core:$awsSdkVersion")
+    // only needed by the S3 helpers (io.reactiverse.awssdk.s3), users of these bring their own S3 client
+    compileOnly("software.amazon.awssdk:s3:$awsSdkVersion")
 
     testImplementation("io.vertx:vertx-junit5:$vertxVersion")
     testImplementation("io.vertx:vertx-rx-java2:$vertxVersion")
@@ -54,6 +58,8 @@ dependencies {
     testImplementation("ch.qos.logback:logback-core:$logbackVersion")
     testImplementation("software.amazon.awssdk:aws-sdk-java:$awsSdkVersion")
     testImplementation("org.junit.jupiter:junit-jupiter-engine:$junit5Version")
+
+    "jmh"("software.amazon.awssdk:netty-nio-client:$awsSdkVersion")
 }
 
 java {
@@ -65,6 +71,15 @@ jacoco {
     toolVersion = "0.8.7"
 }
 
+// Benchmarks live in src/jmh/java, run them with `./gradlew jmh` (allocation rates are reported by the gc profiler)
+jmh {
+    jmhVersion.set(jmhToolVersion)
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    profilers.add("gc")
+}
+
 tasks {
     named("dependencyUpdates", com.github.benmanes.gradle.versions.updates.DependencyUpdatesTask::class.java).configure {
       rejectVersionIf {
@@ -0,0 +1,158 @@
+package io.reactiverse.awssdk;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.internal.http.async.SimpleHttpContentPublisher;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link VertxNioAsyncHttpClient#execute(AsyncExecuteRequest)} against an in-process Vert.x server, compared with the
+ * SDK Netty client: small JSON calls (DynamoDB like) and large streamed bodies (S3 like).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HttpClientBenchmark {
+
+  private static final int PORT = 8989;
+  private static final String HOST = "localhost";
+  private static final int LARGE_BODY_SIZE = 8 * 1024 * 1024;
+  private static final byte[] JSON_REQUEST = "{\"TableName\":\"table\",\"Key\":{\"id\":{\"S\":\"some-id\"}}}"
+    .getBytes(StandardCharsets.UTF_8);
+  private static final Buffer JSON_RESPONSE = Buffer.buffer("{\"Item\":{\"id\":{\"S\":\"some-id\"},\"value\":{\"S\":\"some-value\"}}}");
+
+  @Param({"vertx", "netty"})
+  public String client;
+
+  private Vertx vertx;
+  private HttpServer server;
+  private SdkAsyncHttpClient httpClient;
+
+  @Setup
+  public void setUp() throws Exception {
+    vertx = Vertx.vertx();
+    final Buffer largeBody = Buffer.buffer(new byte[LARGE_BODY_SIZE]);
+    server = vertx.createHttpServer()
+      .requestHandler(req -> {
+        if ("/large".equals(req.path())) {
+          req.response().end(largeBody);
+        } else {
+          req.body().onSuccess(body -> req.response()
+            .putHeader("Content-Type", "application/x-amz-json-1.0")
+            .end(JSON_RESPONSE));
+        }
+      });
+    server.listen(PORT, HOST).toCompletionStage().toCompletableFuture().get();
+    httpClient = "vertx".equals(client)
+      ? new VertxNioAsyncHttpClient(vertx.getOrCreateContext())
+      : NettyNioAsyncHttpClient.create();
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    httpClient.close();
+    server.close().toCompletionStage().toCompletableFuture().get();
+    vertx.close();
+  }
+
+  @Benchmark
+  public long smallJsonCall() {
+    final SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+      .protocol("http")
+      .host(HOST)
+      .port(PORT)
+      .method(SdkHttpMethod.POST)
+      .encodedPath("/")
+      .putHeader("Content-Type", "application/x-amz-json-1.0")
+      .putHeader("Content-Length", String.valueOf(JSON_REQUEST.length))
+      .putHeader("X-Amz-Target", "DynamoDB_20120810.GetItem")
+      .contentStreamProvider(() -> new ByteArrayInputStream(JSON_REQUEST))
+      .build();
+    return execute(request);
+  }
+
+  @Benchmark
+  public long largeStreamedBody() {
+    final SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+      .protocol("http")
+      .host(HOST)
+      .port(PORT)
+      .method(SdkHttpMethod.GET)
+      .encodedPath("/large")
+      .build();
+    return execute(request);
+  }
+
+  private long execute(SdkHttpFullRequest request) {
+    final BodyCounter counter = new BodyCounter();
+    httpClient.execute(AsyncExecuteRequest.builder()
+      .request(request)
+      .requestContentPublisher(new SimpleHttpContentPublisher(request))
+      .responseHandler(counter)
+      .build());
+    return counter.received.join();
+  }
+
+  /**
+   * Consumes the response body as fast as possible, only counting its bytes.
+   */
+  private static final class BodyCounter implements SdkAsyncHttpResponseHandler, Subscriber<ByteBuffer> {
+
+    private final CompletableFuture<Long> received = new CompletableFuture<>();
+    private long count;
+
+    @Override
+    public void onHeaders(SdkHttpResponse headers) {
+    }
+
+    @Override
+    public void onStream(Publisher<ByteBuffer> stream) {
+      stream.subscribe(this);
+    }
+
+    @Override
+    public void onError(Throwable error) {
+      received.completeExceptionally(error);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(ByteBuffer byteBuffer) {
+      count += byteBuffer.remaining();
+    }
+
+    @Override
+    public void onComplete() {
+      received.complete(count);
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package io.reactiverse.awssdk.reactivestreams;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.core.streams.WriteStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link ReadStreamPublisher} feeding a {@link WriteStreamSubscriber}, with in-memory streams so that
+ * only the adapters are measured. Each invocation transfers 8 MiB in 8 KiB chunks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReactiveStreamsBenchmark {
+
+  private static final int CHUNKS = 1024;
+  private static final int CHUNK_SIZE = 8 * 1024;
+
+  @Param({"true", "false"})
+  public boolean copyBuffers;
+
+  @Param({"16", "1024"})
+  public long prefetch;
+
+  private Buffer[] chunks;
+
+  @Setup
+  public void setUp() {
+    chunks = new Buffer[CHUNKS];
+    for (int i = 0; i < CHUNKS; i++) {
+      chunks[i] = Buffer.buffer(new byte[CHUNK_SIZE]);
+    }
+  }
+
+  @Benchmark
+  public long readStreamToWriteStream() {
+    final InMemoryReadStream source = new InMemoryReadStream(chunks);
+    final CountingWriteStream sink = new CountingWriteStream();
+    new ReadStreamPublisher<>(source, null, copyBuffers).subscribe(new WriteStreamSubscriber<>(sink, prefetch));
+    return sink.count;
+  }
+
+  /**
+   * Emits its chunks synchronously, as long as there is demand.
+   */
+  private static final class InMemoryReadStream implements ReadStream<Buffer> {
+
+    private final Buffer[] chunks;
+    private int index;
+    private long demand = Long.MAX_VALUE;
+    private boolean emitting;
+    private Handler<Buffer> handler;
+    private Handler<Void> endHandler;
+
+    private InMemoryReadStream(Buffer[] chunks) {
+      this.chunks = chunks;
+    }
+
+    @Override
+    public ReadStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> handler(Handler<Buffer> handler) {
+      this.handler = handler;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> pause() {
+      demand = 0;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+      return fetch(Long.MAX_VALUE);
+    }
+
+    @Override
+    public ReadStream<Buffer> fetch(long amount) {
+      demand += amount;
+      if (demand < 0) {
+        demand = Long.MAX_VALUE;
+      }
+      emit();
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+      this.endHandler = endHandler;
+      return this;
+    }
+
+    private void emit() {
+      if (emitting) {
+        return;
+      }
+      emitting = true;
+      while (demand > 0 && index < chunks.length) {
+        if (demand != Long.MAX_VALUE) {
+          demand--;
+        }
+        handler.handle(chunks[index++]);
+      }
+      emitting = false;
+      if (index == chunks.length && endHandler != null) {
+        final Handler<Void> end = endHandler;
+        endHandler = null;
+        end.handle(null);
+      }
+    }
+  }
+
+  private static final class CountingWriteStream implements WriteStream<Buffer> {
+
+    private long count;
+
+    @Override
+    public WriteStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public Future<Void> write(Buffer data) {
+      count += data.length();
+      return Future.succeededFuture();
+    }
+
+    @Override
+    public void write(Buffer data, Handler<AsyncResult<Void>> handler) {
+      count += data.length();
+      handler.handle(Future.succeededFuture());
+    }
+
+    @Override
+    public void end(Handler<AsyncResult<Void>> handler) {
+      handler.handle(Future.succeededFuture());
+    }
+
+    @Override
+    public WriteStream<Buffer> setWriteQueueMaxSize(int maxSize) {
+      return this;
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+      return false;
+    }
+
+    @Override
+    public WriteStream<Buffer> drainHandler(Handler<Void> handler) {
+      return this;
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package io.reactiverse.awssdk;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Limits the number of requests in flight, adapting the limit with an AIMD (additive increase, multiplicative decrease)
+ * algorithm: the limit grows by one for about each {@code limit} successful requests while it is being used, and is
+ * multiplied by {@link ConcurrencyLimiterOptions#getBackoffRatio()} when requests are throttled (HTTP 429 or 503,
+ * {@code Throttling} or {@code ProvisionedThroughputExceeded} errors), time out (including the SDK giving up on a sent
+ * request after {@code apiCallAttemptTimeout}), or exceed {@link ConcurrencyLimiterOptions#getMaxLatency()}.
+ * <p>
+ * Requests over the limit wait in a bounded queue, then get rejected: an overloaded service is backed off early,
+ * instead of requests piling up in the connection pool wait queue.
+ * <p>
+ * A limiter can be shared by several clients talking to the same service.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final ConcurrencyLimiterOptions options;
+    private final long maxLatencyNanos;
+    private final Deque<Runnable> queue = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private long lastDecrease = System.nanoTime();
+
+    public AdaptiveConcurrencyLimiter() {
+        this(new ConcurrencyLimiterOptions());
+    }
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimiterOptions options) {
+        this.options = requireNonNull(options);
+        this.maxLatencyNanos = options.getMaxLatency() == null ? Long.MAX_VALUE : options.getMaxLatency().toNanos();
+        this.limit = Math.max(options.getMinLimit(), Math.min(options.getMaxLimit(), options.getInitialLimit()));
+    }
+
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Runs the task right away if the limit allows it, queues it otherwise. Queued tasks are run by the thread releasing
+     * a permit. A task must {@link #release(long, boolean)} its permit once done.
+     *
+     * @return {@code false} if the queue is full, the task is not run
+     */
+    boolean acquire(Runnable task) {
+        synchronized (this) {
+            if (inFlight >= (int) limit) {
+                if (queue.size() >= options.getMaxQueueSize()) {
+                    return false;
+                }
+                queue.add(task);
+                return true;
+            }
+            inFlight++;
+        }
+        task.run();
+        return true;
+    }
+
+    /**
+     * Takes a permit only if the limit allows it right away, for requests that are not worth waiting for (e.g. hedged
+     * attempts). The permit must be {@link #release(long, boolean) released} as well.
+     *
+     * @return {@code false} if the limit is reached, no permit is taken
+     */
+    synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * @param startNanos {@link System#nanoTime()} when the request was sent
+     * @param throttled whether the request was throttled, timed out or cancelled by the SDK once sent
+     */
+    void release(long startNanos, boolean throttled) {
+        final long now = System.nanoTime();
+        final Runnable next;
+        synchronized (this) {
+            if (throttled || now - startNanos > maxLatencyNanos) {
+                // the requests sent before the last decrease have already been accounted for by it
+                if (startNanos - lastDecrease > 0) {
+                    limit = Math.max(options.getMinLimit(), limit * options.getBackoffRatio());
+                    lastDecrease = now;
+                }
+            } else if (inFlight * 2 >= limit) {
+                limit = Math.min(options.getMaxLimit(), limit + 1 / limit);
+            }
+            inFlight--;
+            next = inFlight < (int) limit ? queue.poll() : null;
+            if (next != null) {
+                inFlight++;
+            }
+        }
+        if (next != null) {
+            next.run();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.reactiverse.awssdk;
+
+import java.time.Duration;
+
+/**
+ * Options of {@link AdaptiveConcurrencyLimiter}.
+ */
+public class ConcurrencyLimiterOptions {
+
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final int DEFAULT_MIN_LIMIT = 1;
+    public static final int DEFAULT_MAX_LIMIT = 200;
+    public static final double DEFAULT_BACKOFF_RATIO = 0.75;
+    public static final int DEFAULT_MAX_QUEUE_SIZE = 100;
+
+    private int initialLimit = DEFAULT_INITIAL_LIMIT;
+    private int minLimit = DEFAULT_MIN_LIMIT;
+    private int maxLimit = DEFAULT_MAX_LIMIT;
+    private double backoffRatio = DEFAULT_BACKOFF_RATIO;
+    private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+    private Duration maxLatency;
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    /**
+     * Number of requests in flight allowed at first.
+     */
+    public ConcurrencyLimiterOptions setInitialLimit(int initialLimit) {
+        if (initialLimit < 1) {
+            throw new IllegalArgumentException("initialLimit must be positive: " + initialLimit);
+        }
+        this.initialLimit = initialLimit;
+        return this;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public ConcurrencyLimiterOptions setMinLimit(int minLimit) {
+        if (minLimit < 1) {
+            throw new IllegalArgumentException("minLimit must be positive: " + minLimit);
+        }
+        this.minLimit = minLimit;
+        return this;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * Upper bound of the limit, there is no point in it exceeding the size of the connection pool (times the number of
+     * HTTP/2 streams per connection).
+     */
+    public ConcurrencyLimiterOptions setMaxLimit(int maxLimit) {
+        if (maxLimit < 1) {
+            throw new IllegalArgumentException("maxLimit must be positive: " + maxLimit);
+        }
+        this.maxLimit = maxLimit;
+        return this;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    /**
+     * Factor applied to the limit when requests are throttled.
+     */
+    public ConcurrencyLimiterOptions setBackoffRatio(double backoffRatio) {
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be between 0 and 1 (exclusive): " + backoffRatio);
+        }
+        this.backoffRatio = backoffRatio;
+        return this;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    /**
+     * Maximum number of requests waiting for the limit to allow them, further requests are rejected right away.
+     */
+    public ConcurrencyLimiterOptions setMaxQueueSize(int maxQueueSize) {
+        if (maxQueueSize < 0) {
+            throw new IllegalArgumentException("maxQueueSize must not be negative: " + maxQueueSize);
+        }
+        this.maxQueueSize = maxQueueSize;
+        return this;
+    }
+
+    public Duration getMaxLatency() {
+        return maxLatency;
+    }
+
+    /**
+     * Latency above which a request is considered as a sign of overload, like a throttled request.
+     * {@code null} (the default) to only rely on throttling responses.
+     */
+    public ConcurrencyLimiterOptions setMaxLatency(Duration maxLatency) {
+        this.maxLatency = maxLatency;
+        return this;
+    }
+}
@@ -0,0 +1,116 @@
+package io.reactiverse.awssdk;
+
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpRequest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * When to hedge requests: a request still waiting for its response after the {@code percentile} of the observed
+ * latencies is sent a second time, the first response wins.
+ * <p>
+ * Latencies (up to the response headers) are observed over the last {@value #SAMPLES} eligible requests of the clients
+ * sharing the policy, no request is hedged until {@link #getMinSamples()} of them have been observed.
+ * Only idempotent requests must be hedged, by default {@code GET} and {@code HEAD} requests are. Their body, if any, is
+ * read once per attempt.
+ */
+public class HedgingPolicy {
+
+    public static final double DEFAULT_PERCENTILE = 0.95;
+    public static final Duration DEFAULT_MIN_DELAY = Duration.ofMillis(5);
+    public static final int DEFAULT_MIN_SAMPLES = 100;
+    public static final Predicate<SdkHttpRequest> IDEMPOTENT_METHODS = request ->
+        request.method() == SdkHttpMethod.GET || request.method() == SdkHttpMethod.HEAD;
+
+    private static final int SAMPLES = 1024;
+    // sorting the samples for every request would cost more than hedging saves
+    private static final int RECOMPUTE_INTERVAL = 64;
+
+    private double percentile = DEFAULT_PERCENTILE;
+    private long minDelayNanos = DEFAULT_MIN_DELAY.toNanos();
+    private int minSamples = DEFAULT_MIN_SAMPLES;
+    private Predicate<SdkHttpRequest> predicate = IDEMPOTENT_METHODS;
+
+    private final long[] samples = new long[SAMPLES];
+    private long recorded;
+    private volatile long delayNanos = -1;
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    /**
+     * Percentile of the observed latencies after which a request is hedged, e.g. {@code 0.95}: about 5% of the requests
+     * are sent twice.
+     */
+    public HedgingPolicy setPercentile(double percentile) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("percentile must be between 0 and 1 (exclusive): " + percentile);
+        }
+        this.percentile = percentile;
+        return this;
+    }
+
+    public Duration getMinDelay() {
+        return Duration.ofNanos(minDelayNanos);
+    }
+
+    /**
+     * Lower bound of the hedging delay, so that fast responses don't get hedged aggressively.
+     */
+    public HedgingPolicy setMinDelay(Duration minDelay) {
+        this.minDelayNanos = minDelay.toNanos();
+        return this;
+    }
+
+    public int getMinSamples() {
+        return minSamples;
+    }
+
+    public HedgingPolicy setMinSamples(int minSamples) {
+        if (minSamples < 1 || minSamples > SAMPLES) {
+            throw new IllegalArgumentException("minSamples must be between 1 and " + SAMPLES + ": " + minSamples);
+        }
+        this.minSamples = minSamples;
+        return this;
+    }
+
+    public Predicate<SdkHttpRequest> getPredicate() {
+        return predicate;
+    }
+
+    /**
+     * Which requests are hedged, {@link #IDEMPOTENT_METHODS} by default. For instance, DynamoDB {@code GetItem} requests
+     * are {@code POST}s: {@code request -> request.firstMatchingHeader("X-Amz-Target").filter(t -> t.endsWith(".GetItem")).isPresent()}.
+     */
+    public HedgingPolicy setPredicate(Predicate<SdkHttpRequest> predicate) {
+        this.predicate = requireNonNull(predicate);
+        return this;
+    }
+
+    boolean test(SdkHttpRequest request) {
+        return predicate.test(request);
+    }
+
+    /**
+     * @return how long to wait for a response before hedging a request, {@code -1} while not enough latencies were observed
+     */
+    long delayNanos() {
+        return delayNanos;
+    }
+
+    synchronized void record(long latencyNanos) {
+        samples[(int) (recorded % SAMPLES)] = latencyNanos;
+        recorded++;
+        if (recorded >= minSamples && (recorded == minSamples || recorded % RECOMPUTE_INTERVAL == 0)) {
+            final long[] sorted = Arrays.copyOf(samples, (int) Math.min(recorded, SAMPLES));
+            Arrays.sort(sorted);
+            final int index = Math.max(0, (int) Math.ceil(percentile * sorted.length) - 1);
+            delayNanos = Math.max(minDelayNanos, sorted[index]);
+        }
+    }
+}
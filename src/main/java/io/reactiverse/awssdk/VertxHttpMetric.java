@@ -0,0 +1,38 @@
+package io.reactiverse.awssdk;
+
+import software.amazon.awssdk.metrics.MetricCategory;
+import software.amazon.awssdk.metrics.MetricLevel;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+import java.time.Duration;
+
+/**
+ * Metrics reported by {@link VertxNioAsyncHttpClient} in addition to the standard {@link software.amazon.awssdk.http.HttpMetric}s.
+ * Like every SDK metric, they are published per API call (hence per service and operation) to the
+ * {@link software.amazon.awssdk.metrics.MetricPublisher}s configured on the SDK client.
+ */
+public final class VertxHttpMetric {
+
+    /**
+     * Time a request waited for the client context when executed from another thread.
+     * High values mean the event loop is busy, not AWS being slow.
+     */
+    public static final SdkMetric<Duration> CONTEXT_DISPATCH_DURATION = metric("VertxContextDispatchDuration");
+
+    /**
+     * Time between obtaining a connection and receiving the response headers.
+     */
+    public static final SdkMetric<Duration> TIME_TO_FIRST_BYTE = metric("VertxTimeToFirstByte");
+
+    /**
+     * Time between receiving the response headers and the end of the response body.
+     */
+    public static final SdkMetric<Duration> RESPONSE_BODY_TRANSFER_DURATION = metric("VertxResponseBodyTransferDuration");
+
+    private VertxHttpMetric() {
+    }
+
+    private static SdkMetric<Duration> metric(String name) {
+        return SdkMetric.create(name, Duration.class, MetricLevel.INFO, MetricCategory.HTTP_CLIENT);
+    }
+}
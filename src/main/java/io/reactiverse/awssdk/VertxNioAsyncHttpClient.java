@@ -1,17 +1,39 @@
 package io.reactiverse.awssdk;
 
 import io.reactiverse.awssdk.converters.MethodConverter;
+import io.reactiverse.awssdk.dns.VertxDnsCache;
 import io.reactiverse.awssdk.reactivestreams.HttpClientRequestSubscriber;
 import io.reactiverse.awssdk.reactivestreams.ReadStreamPublisher;
 import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpConnection;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpVersion;
 import io.vertx.core.http.RequestOptions;
+import io.vertx.core.net.JdkSSLEngineOptions;
+import io.vertx.core.net.JksOptions;
+import io.vertx.core.net.OpenSSLEngineOptions;
+import io.vertx.core.net.PemKeyCertOptions;
+import io.vertx.core.net.PemTrustOptions;
+import io.vertx.core.net.PfxOptions;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.SdkHttpConfigurationOption;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
 import software.amazon.awssdk.http.SdkHttpRequest;
 import software.amazon.awssdk.http.SdkHttpResponse;
@@ -19,71 +41,302 @@ import software.amazon.awssdk.http.async.AsyncExecuteRequest;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
 import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.metrics.NoOpMetricCollector;
+import software.amazon.awssdk.metrics.SdkMetric;
+import software.amazon.awssdk.utils.AttributeMap;
 import software.amazon.awssdk.utils.StringUtils;
+import software.amazon.awssdk.utils.http.SdkHttpUtils;
 
+import java.net.SocketTimeoutException;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import static java.util.Objects.requireNonNull;
 
-public class VertxNioAsyncHttpClient implements SdkAsyncHttpClient {
+public class VertxNioAsyncHttpClient implements VertxSdkAsyncHttpClient {
+
+    /**
+     * Where requests are executed.
+     */
+    public enum DispatchMode {
+      /**
+       * Always on the client context: calls made from any other thread hop once onto it.
+       */
+      CLIENT_CONTEXT,
+      /**
+       * On the event loop context of the caller when called from one (of the same Vert.x instance), on the client
+       * context otherwise, the default. Pooled connections created by the caller event loop are preferred, so that
+       * multi-verticle deployments don't queue every request to a single event loop.
+       */
+      CALLER_EVENT_LOOP,
+      /**
+       * Like {@link #CALLER_EVENT_LOOP}, also running on the caller worker context instead of hopping to the client context.
+       */
+      CALLER_CONTEXT
+    }
 
     private final Context context;
+    private final DispatchMode dispatchMode;
     private final HttpClient client;
     private final HttpClientOptions clientOptions;
+    private final VertxDnsCache dnsCache;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final HedgingPolicy hedging;
+    private final long connectionAcquisitionTimeout;
+    private final long connectionTimeToLive;
+    private final long readTimeout;
+    private final long responseTimeout;
+    // connections are retired once their deadline (System.nanoTime() based) is over, see SharedPool for shared clients
+    private final Map<HttpConnection, Long> connectionDeadlines;
+    // the name of the shared Vert.x client, null when the client is not shared
+    private final String sharedName;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile Endpoint lastEndpoint;
+    // reported to the SDK metric collectors, for all the endpoints of the client
+    private final int maxConcurrency;
+    private final AtomicInteger leasedConcurrency = new AtomicInteger();
+    private final AtomicInteger pendingAcquires = new AtomicInteger();
+
+    private static final String CLIENT_NAME = "Vertx";
+    private static final String SHARED_POOLS = "reactiverse-aws-sdk.pools";
+    private static final CharSequence AMZN_ERROR_TYPE = HttpHeaders.createOptimized("x-amzn-ErrorType");
+
+    private static final long REQUEST_BODY_PREFETCH = 64;
+    private static final long DEFAULT_WARM_UP_TIMEOUT = 30_000;
+
+    // headers sent with (almost) every AWS request, pre-encoded so that Netty writes them without char encoding
+    private static final Map<String, CharSequence> KNOWN_HEADER_NAMES = new HashMap<>();
+    static {
+      for (String name : Arrays.asList("Host", "Authorization", "Content-Type", "Content-Length", "Content-MD5",
+        "User-Agent", "X-Amz-Date", "X-Amz-Target", "X-Amz-Security-Token", "x-amz-content-sha256",
+        "amz-sdk-invocation-id", "amz-sdk-request", "Expect")) {
+        KNOWN_HEADER_NAMES.put(name, HttpHeaders.createOptimized(name));
+      }
+    }
 
     private static final HttpClientOptions DEFAULT_CLIENT_OPTIONS = new HttpClientOptions()
       .setSsl(true)
       .setKeepAlive(true);
 
     public VertxNioAsyncHttpClient(Context context) {
-      this.context = context;
-      this.clientOptions = DEFAULT_CLIENT_OPTIONS;
-      this.client = createVertxHttpClient(context.owner());
+      this(context, DEFAULT_CLIENT_OPTIONS);
     }
 
     public VertxNioAsyncHttpClient(Context context, HttpClientOptions clientOptions) {
+      this(context, clientOptions, DispatchMode.CALLER_EVENT_LOOP, false, null, null, null, null, null, AttributeMap.empty());
+    }
+
+    private VertxNioAsyncHttpClient(Context context, HttpClientOptions clientOptions, DispatchMode dispatchMode, boolean shared,
+                                    String sharedName, VertxDnsCache dnsCache, AdaptiveConcurrencyLimiter limiter, HedgingPolicy hedging,
+                                    Duration responseTimeout, AttributeMap config) {
       requireNonNull(clientOptions);
       this.context = context;
+      this.dispatchMode = requireNonNull(dispatchMode);
       this.clientOptions = clientOptions;
+      // the proxy resolves the endpoints itself
+      this.dnsCache = clientOptions.getProxyOptions() == null ? dnsCache : null;
+      this.limiter = limiter;
+      this.hedging = hedging;
+      this.connectionAcquisitionTimeout = toMillis(config.get(SdkHttpConfigurationOption.CONNECTION_ACQUIRE_TIMEOUT));
+      this.connectionTimeToLive = toMillis(config.get(SdkHttpConfigurationOption.CONNECTION_TIME_TO_LIVE));
+      this.readTimeout = toMillis(config.get(SdkHttpConfigurationOption.READ_TIMEOUT));
+      this.responseTimeout = toMillis(responseTimeout);
+      this.maxConcurrency = clientOptions.getProtocolVersion() == HttpVersion.HTTP_2
+        ? clientOptions.getHttp2MaxPoolSize() * Math.max(1, clientOptions.getHttp2MultiplexingLimit())
+        : clientOptions.getMaxPoolSize();
+      this.sharedName = shared ? sharedName(sharedName) : null;
+      this.connectionDeadlines = shared ? acquireSharedPool(context.owner()).connectionDeadlines : new ConcurrentHashMap<>();
       this.client = createVertxHttpClient(context.owner());
     }
 
+    /**
+     * Creates a builder mapping the SDK HTTP client settings ({@code maxConcurrency}, {@code connectionAcquisitionTimeout},
+     * HTTP/2 for the services requiring it, ...) onto Vert.x {@link HttpClientOptions}.
+     * <p>
+     * Hand the builder over to the SDK client builder (see {@link VertxSdkClient#withVertx(software.amazon.awssdk.awscore.client.builder.AwsAsyncClientBuilder, Builder, Context)})
+     * rather than building it yourself, so that the service defaults are applied.
+     */
+    public static Builder builder() {
+      return new Builder();
+    }
+
     private HttpClient createVertxHttpClient(Vertx vertx) {
-      return vertx.createHttpClient(clientOptions);
+      final HttpClient httpClient = vertx.createHttpClient(sharedName != null ? new HttpClientOptions(clientOptions)
+        .setShared(true)
+        .setName(sharedName) : clientOptions);
+      if (connectionTimeToLive > 0) {
+        httpClient.connectionHandler(conn -> {
+          connectionDeadlines.put(conn, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(connectionTimeToLive));
+          conn.closeHandler(v -> connectionDeadlines.remove(conn));
+        });
+      }
+      return httpClient;
     }
 
     @Override
     public CompletableFuture<Void> execute(AsyncExecuteRequest asyncExecuteRequest) {
         final CompletableFuture<Void> fut = new CompletableFuture<>();
-        if (Context.isOnEventLoopThread()) {
+        if (runsOnCurrentContext()) {
             executeOnContext(asyncExecuteRequest, fut);
         } else {
-            context.runOnContext(v -> executeOnContext(asyncExecuteRequest, fut));
+            final long dispatchStart = System.nanoTime();
+            context.runOnContext(v -> {
+              reportDuration(metricCollector(asyncExecuteRequest), VertxHttpMetric.CONTEXT_DISPATCH_DURATION, dispatchStart);
+              executeOnContext(asyncExecuteRequest, fut);
+            });
         }
         return fut;
     }
 
     void executeOnContext(AsyncExecuteRequest asyncExecuteRequest, CompletableFuture<Void> fut) {
+        if (limiter == null) {
+          send(asyncExecuteRequest, fut, null);
+          return;
+        }
+        final Context current = Vertx.currentContext();
+        final boolean admitted = limiter.acquire(() -> {
+          // queued requests are resumed by the thread completing another request
+          if (Vertx.currentContext() == current) {
+            sendLimited(asyncExecuteRequest, fut);
+          } else {
+            current.runOnContext(v -> sendLimited(asyncExecuteRequest, fut));
+          }
+        });
+        if (!admitted) {
+          final SdkClientException err = SdkClientException.create("Request rejected by the concurrency limiter: too many requests are waiting");
+          asyncExecuteRequest.responseHandler().onError(err);
+          fut.completeExceptionally(err);
+        }
+    }
+
+    private void sendLimited(AsyncExecuteRequest asyncExecuteRequest, CompletableFuture<Void> fut) {
+        final Permit permit = new Permit();
+        if (fut.isDone()) {
+          // cancelled by the SDK while queued
+          limiter.release(permit.start, false);
+          return;
+        }
+        send(asyncExecuteRequest, fut, permit);
+    }
+
+    /**
+     * @param permit of the concurrency limiter, {@code null} if there is no limiter
+     */
+    private void send(AsyncExecuteRequest asyncExecuteRequest, CompletableFuture<Void> fut, Permit permit) {
+        if (hedging != null && hedging.test(asyncExecuteRequest.request())) {
+          new HedgedRequest(asyncExecuteRequest, fut, permit).start();
+        } else {
+          sendAttempt(asyncExecuteRequest, fut, permit);
+        }
+    }
+
+    /**
+     * The permit is released once the attempt is over, before {@code fut} completes: requests sent by the dependents of
+     * {@code fut} (e.g. the next request of a sequence) are admitted against the updated limit.
+     *
+     * @param permit of the concurrency limiter, {@code null} if there is no limiter
+     */
+    private void sendAttempt(AsyncExecuteRequest asyncExecuteRequest, CompletableFuture<Void> fut, Permit permit) {
+        if (permit == null) {
+          sendRequest(asyncExecuteRequest, fut, null);
+          return;
+        }
+        final CompletableFuture<Void> attempt = new CompletableFuture<>();
+        attempt.whenComplete((v, err) -> {
+          // an attempt cancelled by the SDK once sent has exceeded apiCallAttemptTimeout
+          final boolean overloaded = permit.throttled || isTimeout(err) || (permit.sent && !permit.superseded && err instanceof CancellationException);
+          limiter.release(permit.start, overloaded);
+          if (err != null) {
+            fut.completeExceptionally(err);
+          } else {
+            fut.complete(null);
+          }
+        });
+        fut.whenComplete((v, err) -> {
+          if (err instanceof CancellationException) {
+            attempt.cancel(false);
+          }
+        });
+        sendRequest(asyncExecuteRequest, attempt, permit);
+    }
+
+    private void sendRequest(AsyncExecuteRequest asyncExecuteRequest, CompletableFuture<Void> fut, Permit permit) {
         final SdkHttpRequest request = asyncExecuteRequest.request();
         final SdkAsyncHttpResponseHandler responseHandler = asyncExecuteRequest.responseHandler();
+        final MetricCollector metrics = metricCollector(asyncExecuteRequest);
         final RequestOptions options = getRequestOptions(request);
+        final long acquireStart = System.nanoTime();
+        pendingAcquires.incrementAndGet();
+        final long acquireTimer = connectionAcquisitionTimeout > 0 ? startAcquireTimer(responseHandler, fut) : -1;
         client.request(options, ar -> {
+          // a timed out acquisition is no longer pending, though Vert.x still hands it a connection
+          if (acquireTimer < 0 || context.owner().cancelTimer(acquireTimer)) {
+            pendingAcquires.decrementAndGet();
+          }
+          if (fut.isDone()) {
+            // timed out or cancelled while waiting for a connection, which goes back to the pool
+            if (ar.succeeded()) {
+              ar.result().reset();
+            }
+            return;
+          }
           if (ar.failed()) {
             responseHandler.onError(ar.cause());
+            fut.completeExceptionally(ar.cause());
             return;
           }
+          if (permit != null) {
+            permit.sent = true;
+          }
+          final int leased = leasedConcurrency.incrementAndGet();
+          fut.whenComplete((v, err) -> leasedConcurrency.decrementAndGet());
+          final long requestStart = System.nanoTime();
+          if (metrics != null) {
+            reportAcquisition(metrics, leased, requestStart - acquireStart);
+          }
           HttpClientRequest vRequest = ar.result();
+          if (connectionTimeToLive > 0) {
+            retireIfExpired(vRequest);
+          }
+          // the SDK cancels the future when giving up on the request (e.g. apiCallAttemptTimeout), the connection is reset
+          fut.whenComplete((v, err) -> {
+            if (err instanceof CancellationException) {
+              vRequest.reset(0, err);
+            }
+          });
+          final RequestTimer timer = responseTimeout > 0 || readTimeout > 0 ? new RequestTimer(vRequest, fut) : null;
           vRequest.response(res -> {
             if (res.failed()) {
-              responseHandler.onError(res.cause());
-              fut.completeExceptionally(res.cause());
+              // a reset request fails with a StreamResetException, whatever the timeout it was reset for
+              final Throwable err = timer != null ? timer.cause(res.cause()) : res.cause();
+              responseHandler.onError(err);
+              fut.completeExceptionally(err);
               return;
             }
             HttpClientResponse vResponse = res.result();
+            if (permit != null) {
+              permit.throttled = isThrottled(vResponse);
+            }
+            if (metrics != null) {
+              final long headersReceived = System.nanoTime();
+              metrics.reportMetric(VertxHttpMetric.TIME_TO_FIRST_BYTE, Duration.ofNanos(headersReceived - requestStart));
+              fut.thenRun(() -> reportDuration(metrics, VertxHttpMetric.RESPONSE_BODY_TRANSFER_DURATION, headersReceived));
+            }
             final SdkHttpFullResponse.Builder builder = SdkHttpResponse.builder()
               .statusCode(vResponse.statusCode())
               .statusText(vResponse.statusMessage());
@@ -91,42 +344,909 @@ public class VertxNioAsyncHttpClient implements SdkAsyncHttpClient {
               builder.appendHeader(e.getKey(), e.getValue())
             );
             responseHandler.onHeaders(builder.build());
-            responseHandler.onStream(new ReadStreamPublisher<>(vResponse, fut));
+            // response buffers are never reused by Vert.x, the SDK can consume them without an extra copy
+            final Publisher<ByteBuffer> body = new ReadStreamPublisher<>(vResponse, fut, false);
+            if (timer != null) {
+              timer.headersReceived();
+              responseHandler.onStream(timer.watch(body));
+            } else {
+              responseHandler.onStream(body);
+            }
           });
           final SdkHttpContentPublisher publisher = asyncExecuteRequest.requestContentPublisher();
           if (publisher != null) {
-            publisher.subscribe(new HttpClientRequestSubscriber(vRequest));
+            publisher.subscribe(new HttpClientRequestSubscriber(vRequest, REQUEST_BODY_PREFETCH, HttpClientRequestSubscriber.DEFAULT_COALESCE_SIZE) {
+              @Override
+              public void onNext(ByteBuffer byteBuffer) {
+                if (timer != null) {
+                  timer.touch();
+                }
+                super.onNext(byteBuffer);
+              }
+            });
           } else {
             vRequest.end();
           }
         });
     }
 
-  private static RequestOptions getRequestOptions(SdkHttpRequest request) {
-    RequestOptions options =  new RequestOptions()
-      .setMethod(MethodConverter.awsToVertx(request.method()))
-      .setHost(request.host())
-      .setPort(request.port())
-      .setURI(createRelativeUri(request.getUri()))
-      .setFollowRedirects(true)
-      .setSsl("https".equals(request.protocol()));
+  private static boolean isThrottled(HttpClientResponse response) {
+    if (response.statusCode() == 429 || response.statusCode() == 503) {
+      return true;
+    }
+    final String errorType = response.getHeader(AMZN_ERROR_TYPE);
+    return errorType != null && (errorType.contains("Throttl") || errorType.contains("ProvisionedThroughputExceeded"));
+  }
+
+  private static boolean isTimeout(Throwable err) {
+    for (Throwable cause = err; cause != null; cause = cause.getCause()) {
+      if (cause instanceof SocketTimeoutException || cause instanceof TimeoutException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean runsOnCurrentContext() {
+    final Context current = Vertx.currentContext();
+    if (current == context) {
+      return true;
+    }
+    if (current == null || current.owner() != context.owner()) {
+      return false;
+    }
+    switch (dispatchMode) {
+      case CALLER_EVENT_LOOP:
+        return current.isEventLoopContext();
+      case CALLER_CONTEXT:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Fails the request if no connection could be obtained from the pool in time, Vert.x 4 requests waiting for a
+   * connection cannot be cancelled: the connection is released as soon as it is obtained.
+   */
+  private long startAcquireTimer(SdkAsyncHttpResponseHandler responseHandler, CompletableFuture<Void> fut) {
+    return context.owner().setTimer(connectionAcquisitionTimeout, id -> {
+      pendingAcquires.decrementAndGet();
+      final TimeoutException err = new TimeoutException("Acquire operation took longer than " + connectionAcquisitionTimeout + " ms");
+      if (fut.completeExceptionally(err)) {
+        responseHandler.onError(err);
+      }
+    });
+  }
+
+  /**
+   * {@code connections} {@code HEAD /} requests are sent at the same time, each one on its own connection, the
+   * connections are then kept in the pool whatever the responses. No more connections than {@code maxConcurrency} are
+   * opened, as requests waiting for a connection of a full pool would never get one.
+   * With HTTP/2, the requests share the connections as usual.
+   *
+   * @return completed once the connections are established and the requests answered, failed if it takes longer than
+   * {@code connectionAcquisitionTimeout} and {@code readTimeout} together (30 seconds if neither is set)
+   */
+  @Override
+  public Future<Void> warmUp(URI endpoint, int connections) {
+    final boolean ssl = "https".equals(endpoint.getScheme());
+    final int port = endpoint.getPort() > 0 ? endpoint.getPort() : ssl ? 443 : 80;
+    final Endpoint target = endpoint(endpoint.getHost(), port, ssl);
+    final int count = Math.min(connections, maxConcurrency);
+    final long timeout = connectionAcquisitionTimeout > 0 || readTimeout > 0 ? connectionAcquisitionTimeout + readTimeout : DEFAULT_WARM_UP_TIMEOUT;
+    final Promise<Void> warm = Promise.promise();
+    context.runOnContext(v -> {
+      final List<Future<HttpClientRequest>> requests = new ArrayList<>(count);
+      final long timer = context.owner().setTimer(timeout, id -> {
+        if (warm.tryFail(new TimeoutException("Connections not warmed up within " + timeout + " ms"))) {
+          // including the requests still waiting for a connection, once they get it
+          requests.forEach(req -> req.onSuccess(HttpClientRequest::reset));
+        }
+      });
+      // with a DNS cache, the connections are spread over the addresses of the endpoint
+      final Future<Void> resolved = dnsCache == null ? Future.succeededFuture() : dnsCache.resolve(target.host).otherwiseEmpty();
+      resolved.onComplete(x -> {
+        if (warm.future().isComplete()) {
+          return;
+        }
+        for (int i = 0; i < count; i++) {
+          requests.add(client.request(new RequestOptions()
+            .setMethod(HttpMethod.HEAD)
+            .setHost(target.host)
+            .setPort(target.port)
+            .setServer(server(target))
+            .setSsl(target.ssl)
+            .setURI("/")));
+        }
+        // requests are only sent once all of them got a connection, so that no connection is reused by another one
+        Future.join(requests)
+          .transform(ar -> {
+            if (ar.failed()) {
+              requests.stream().filter(Future::succeeded).forEach(req -> req.result().reset());
+              return Future.failedFuture(ar.cause());
+            }
+            final List<Future<Void>> responses = new ArrayList<>(count);
+            for (Future<HttpClientRequest> req : requests) {
+              responses.add(req.result().send().compose(HttpClientResponse::end));
+            }
+            return Future.all(responses);
+          })
+          .onComplete(ar -> {
+            context.owner().cancelTimer(timer);
+            if (ar.succeeded()) {
+              warm.tryComplete();
+            } else {
+              warm.tryFail(ar.cause());
+            }
+          });
+      });
+    });
+    return warm.future();
+  }
+
+  /**
+   * @return the collector of the request, {@code null} when metrics are disabled so that nothing gets computed
+   */
+  private static MetricCollector metricCollector(AsyncExecuteRequest asyncExecuteRequest) {
+    final MetricCollector collector = asyncExecuteRequest.metricCollector().orElse(null);
+    return collector instanceof NoOpMetricCollector ? null : collector;
+  }
+
+  private void reportAcquisition(MetricCollector metrics, int leased, long acquireDurationNanos) {
+    metrics.reportMetric(HttpMetric.HTTP_CLIENT_NAME, CLIENT_NAME);
+    metrics.reportMetric(HttpMetric.CONCURRENCY_ACQUIRE_DURATION, Duration.ofNanos(acquireDurationNanos));
+    metrics.reportMetric(HttpMetric.MAX_CONCURRENCY, maxConcurrency);
+    metrics.reportMetric(HttpMetric.LEASED_CONCURRENCY, leased);
+    metrics.reportMetric(HttpMetric.AVAILABLE_CONCURRENCY, Math.max(0, maxConcurrency - leased));
+    metrics.reportMetric(HttpMetric.PENDING_CONCURRENCY_ACQUIRES, pendingAcquires.get());
+  }
+
+  private static void reportDuration(MetricCollector metrics, SdkMetric<Duration> metric, long startNanos) {
+    if (metrics != null) {
+      metrics.reportMetric(metric, Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+  }
+
+  /**
+   * Vert.x shares the clients created with the same name (for a given Vert.x instance) and closes the shared client once
+   * all of them are closed. Unless given a name, the name is the encoded options (and the settings enforced by this client
+   * on top of them), so that only identically configured clients share their connection pool and TLS sessions.
+   */
+  private String sharedName(String name) {
+    if (name != null) {
+      return "reactiverse-aws-sdk:name:" + name;
+    }
+    if (!isEncodable(clientOptions)) {
+      throw new IllegalArgumentException("The client options set TLS options that are not encoded (custom TrustOptions, "
+        + "KeyCertOptions or SSLEngineOptions), shared clients having such options must be given a name with sharedName(String)");
+    }
+    return "reactiverse-aws-sdk:" + connectionTimeToLive + ":" + clientOptions.toJson().encode();
+  }
+
+  /**
+   * @return whether {@link HttpClientOptions#toJson()} encodes all the options, i.e. the TLS options have no custom
+   * implementation (such as {@link io.vertx.core.net.TrustOptions#wrap}), which the encoded options would ignore
+   */
+  private static boolean isEncodable(HttpClientOptions options) {
+    return isOneOf(options.getTrustOptions(), JksOptions.class, PfxOptions.class, PemTrustOptions.class)
+      && isOneOf(options.getKeyCertOptions(), JksOptions.class, PfxOptions.class, PemKeyCertOptions.class)
+      && isOneOf(options.getSslEngineOptions(), JdkSSLEngineOptions.class, OpenSSLEngineOptions.class);
+  }
+
+  private static boolean isOneOf(Object option, Class<?>... encodedClasses) {
+    return option == null || Arrays.asList(encodedClasses).contains(option.getClass());
+  }
+
+  private SharedPool acquireSharedPool(Vertx vertx) {
+    final LocalMap<String, SharedPool> pools = vertx.sharedData().getLocalMap(SHARED_POOLS);
+    return pools.compute(sharedName, (name, pool) -> {
+      if (pool == null) {
+        pool = new SharedPool();
+      }
+      pool.clients++;
+      return pool;
+    });
+  }
+
+  private void releaseSharedPool(Vertx vertx) {
+    final LocalMap<String, SharedPool> pools = vertx.sharedData().getLocalMap(SHARED_POOLS);
+    pools.computeIfPresent(sharedName, (name, pool) -> --pool.clients == 0 ? null : pool);
+  }
+
+  /**
+   * The state of a shared Vert.x client, living as long as an SDK client uses it.
+   */
+  private static final class SharedPool implements Shareable {
+
+    // connections of a shared Vert.x client are created by whichever SDK client registered the connection handler last,
+    // they all track the connections in the same map
+    private final Map<HttpConnection, Long> connectionDeadlines = new ConcurrentHashMap<>();
+    // guarded by the local map
+    private int clients;
+  }
+
+  /**
+   * Connections are only checked for expiration when they are used: HTTP/1.x connections are closed by the server
+   * once the current request is over, HTTP/2 connections are gracefully shut down.
+   */
+  private void retireIfExpired(HttpClientRequest vRequest) {
+    final HttpConnection connection = vRequest.connection();
+    final Long deadline = connectionDeadlines.get(connection);
+    if (deadline == null || System.nanoTime() - deadline < 0) {
+      return;
+    }
+    connectionDeadlines.remove(connection);
+    if (vRequest.version() == HttpVersion.HTTP_2) {
+      connection.shutdown();
+    } else {
+      vRequest.putHeader(HttpHeaders.CONNECTION, HttpHeaders.CLOSE);
+    }
+  }
+
+  RequestOptions getRequestOptions(SdkHttpRequest request) {
+    final Endpoint endpoint = endpoint(request);
+    final MultiMap headers = HttpHeaders.headers();
     request.headers().forEach((name, values) -> {
-      options.addHeader(name, values.stream().map(s -> (CharSequence)s).collect(Collectors.toList()));
+      final CharSequence headerName = headerName(name);
+      for (String value : values) {
+        headers.add(headerName, value);
+      }
     });
-    options.addHeader(HttpHeaders.CONNECTION, HttpHeaders.KEEP_ALIVE);
+    headers.add(HttpHeaders.CONNECTION, HttpHeaders.KEEP_ALIVE);
+    final RequestOptions options = new RequestOptions()
+      .setMethod(MethodConverter.awsToVertx(request.method()))
+      .setHost(endpoint.host)
+      .setPort(endpoint.port)
+      .setServer(server(endpoint))
+      .setSsl(endpoint.ssl)
+      .setURI(createRelativeUri(request))
+      .setFollowRedirects(true)
+      .setHeaders(headers);
     return options;
   }
 
-  private static String createRelativeUri(URI uri) {
-    return (StringUtils.isEmpty(uri.getPath()) ? "/" : uri.getPath()) +
-      // AWS requires query parameters to be encoded as defined by RFC 3986.
-      // see https://docs.aws.amazon.com/general/latest/gr/sigv4-create-canonical-request.html
-      // uri.toASCIIString() returns the URI encoded in this manner
-      (StringUtils.isEmpty(uri.getQuery()) ? "" : "?" + uri.toASCIIString().split("\\?")[1]);
+  /**
+   * An SDK client almost always talks to a single endpoint: the last one is kept to avoid allocating its address
+   * for every request.
+   */
+  private Endpoint endpoint(SdkHttpRequest request) {
+    return endpoint(request.host(), request.port(), "https".equals(request.protocol()));
+  }
+
+  private Endpoint endpoint(String host, int port, boolean ssl) {
+    final Endpoint last = lastEndpoint;
+    if (last != null && last.matches(host, port, ssl)) {
+      return last;
+    }
+    final Endpoint endpoint = new Endpoint(host, port, ssl);
+    lastEndpoint = endpoint;
+    return endpoint;
+  }
+
+  private SocketAddress server(Endpoint endpoint) {
+    if (dnsCache != null) {
+      final SocketAddress resolved = dnsCache.address(endpoint.host, endpoint.port);
+      if (resolved != null) {
+        return resolved;
+      }
+    }
+    return endpoint.server;
+  }
+
+  private static CharSequence headerName(String name) {
+    final CharSequence optimized = KNOWN_HEADER_NAMES.get(name);
+    return optimized != null ? optimized : name;
+  }
+
+  private static long toMillis(Duration duration) {
+    return duration == null ? 0 : duration.toMillis();
+  }
+
+  static String createRelativeUri(SdkHttpRequest request) {
+    final String path = StringUtils.isEmpty(request.encodedPath()) ? "/" : request.encodedPath();
+    if (request.rawQueryParameters().isEmpty()) {
+      return path;
+    }
+    // AWS requires query parameters to be encoded as defined by RFC 3986.
+    // see https://docs.aws.amazon.com/general/latest/gr/sigv4-create-canonical-request.html
+    // this is the encoding the SDK itself uses when signing the request
+    return SdkHttpUtils.encodeAndFlattenQueryParameters(request.rawQueryParameters())
+      .map(query -> path + "?" + query)
+      .orElse(path);
+  }
+
+  /**
+   * A request sent a second time if it has no response after the hedging delay. The first attempt receiving response
+   * headers wins, the other one is cancelled (resetting its request). Each attempt holds a permit of the concurrency
+   * limiter, if any: the request is not sent a second time when the limit is reached. Only accessed from the context
+   * sending it.
+   */
+  private final class HedgedRequest {
+
+    private final AsyncExecuteRequest request;
+    private final CompletableFuture<Void> fut;
+    private final Permit permit;
+    private final List<Attempt> attempts = new ArrayList<>(2);
+    private Attempt winner;
+    private long timerId = -1;
+
+    private HedgedRequest(AsyncExecuteRequest request, CompletableFuture<Void> fut, Permit permit) {
+      this.request = request;
+      this.fut = fut;
+      this.permit = permit;
+    }
+
+    private void start() {
+      final long delay = hedging.delayNanos();
+      launch(true);
+      if (delay >= 0) {
+        timerId = context.owner().setTimer(Math.max(1, TimeUnit.NANOSECONDS.toMillis(delay)), id -> {
+          timerId = -1;
+          if (winner == null && !fut.isDone()) {
+            launch(false);
+          }
+        });
+      }
+    }
+
+    private void launch(boolean first) {
+      Permit attemptPermit = permit;
+      if (!first && limiter != null) {
+        if (!limiter.tryAcquire()) {
+          // the limit is reached, the request is not worth sending twice
+          return;
+        }
+        attemptPermit = new Permit();
+      }
+      final Attempt attempt = new Attempt(attemptPermit, first);
+      attempts.add(attempt);
+      fut.whenComplete((v, err) -> {
+        if (err instanceof CancellationException) {
+          attempt.fut.cancel(false);
+        }
+      });
+      sendAttempt(AsyncExecuteRequest.builder()
+        .request(request.request())
+        .requestContentPublisher(request.requestContentPublisher())
+        .responseHandler(attempt)
+        // the request is only measured once
+        .metricCollector(first ? request.metricCollector().orElse(null) : null)
+        .build(), attempt.fut, attemptPermit);
+    }
+
+    private void cancelTimer() {
+      if (timerId >= 0) {
+        context.owner().cancelTimer(timerId);
+        timerId = -1;
+      }
+    }
+
+    private final class Attempt implements SdkAsyncHttpResponseHandler {
+
+      private final CompletableFuture<Void> fut = new CompletableFuture<>();
+      private final Permit permit;
+      private final boolean first;
+      private final long start = System.nanoTime();
+      private boolean failed;
+
+      private Attempt(Permit permit, boolean first) {
+        this.permit = permit;
+        this.first = first;
+      }
+
+      @Override
+      public void onHeaders(SdkHttpResponse headers) {
+        // a hedged attempt only measures the tail of the latency, it would lower the delay
+        if (first) {
+          hedging.record(System.nanoTime() - start);
+        }
+        if (winner != null) {
+          return;
+        }
+        winner = this;
+        cancelTimer();
+        for (Attempt attempt : attempts) {
+          if (attempt != this) {
+            if (attempt.permit != null) {
+              attempt.permit.superseded = true;
+            }
+            attempt.fut.cancel(false);
+          }
+        }
+        fut.whenComplete((v, err) -> {
+          if (err != null) {
+            HedgedRequest.this.fut.completeExceptionally(err);
+          } else {
+            HedgedRequest.this.fut.complete(null);
+          }
+        });
+        request.responseHandler().onHeaders(headers);
+      }
+
+      @Override
+      public void onStream(Publisher<ByteBuffer> stream) {
+        if (winner == this) {
+          request.responseHandler().onStream(stream);
+        } else {
+          stream.subscribe(new CancellingSubscriber());
+        }
+      }
+
+      @Override
+      public void onError(Throwable error) {
+        failed = true;
+        if (winner == this) {
+          request.responseHandler().onError(error);
+          return;
+        }
+        if (winner != null || attempts.stream().anyMatch(attempt -> !attempt.failed)) {
+          return;
+        }
+        // no attempt left, the SDK retry policy takes over
+        cancelTimer();
+        request.responseHandler().onError(error);
+        HedgedRequest.this.fut.completeExceptionally(error);
+      }
+    }
+  }
+
+  /**
+   * Resets the request (hence closes HTTP/1.x connections) when the response headers are not received within
+   * {@code responseTimeout}, or when it neither sends nor receives any data for {@code readTimeout} until the response
+   * body is over. Activity only records a timestamp, the read timer being re-armed for the remaining time when it expires.
+   */
+  private final class RequestTimer {
+
+    private final HttpClientRequest vRequest;
+    private final CompletableFuture<Void> fut;
+    private volatile long lastActivity = System.nanoTime();
+    private volatile long responseTimerId = -1;
+    private volatile long readTimerId = -1;
+    private volatile boolean done;
+    private volatile SocketTimeoutException timeout;
+
+    private RequestTimer(HttpClientRequest vRequest, CompletableFuture<Void> fut) {
+      this.vRequest = vRequest;
+      this.fut = fut;
+      if (responseTimeout > 0) {
+        responseTimerId = context.owner().setTimer(responseTimeout, id ->
+          expire("No response received within " + responseTimeout + " ms"));
+      }
+      if (readTimeout > 0) {
+        readTimerId = context.owner().setTimer(readTimeout, this::checkIdle);
+      }
+      fut.whenComplete((v, err) -> cancel());
+    }
+
+    private void touch() {
+      lastActivity = System.nanoTime();
+    }
+
+    private void headersReceived() {
+      touch();
+      context.owner().cancelTimer(responseTimerId);
+    }
+
+    private void cancel() {
+      done = true;
+      context.owner().cancelTimer(responseTimerId);
+      context.owner().cancelTimer(readTimerId);
+    }
+
+    private void checkIdle(Long id) {
+      final long idle = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastActivity);
+      if (idle < readTimeout) {
+        readTimerId = context.owner().setTimer(readTimeout - idle, this::checkIdle);
+      } else {
+        expire("No data sent or received within " + readTimeout + " ms");
+      }
+    }
+
+    private void expire(String message) {
+      if (done) {
+        return;
+      }
+      final SocketTimeoutException err = new SocketTimeoutException(message);
+      timeout = err;
+      // before the reset, as the response body publisher would complete the future with the reset rather than its cause
+      fut.completeExceptionally(err);
+      vRequest.reset(0, err);
+    }
+
+    /**
+     * @return the timeout the request has been reset for, or {@code err}
+     */
+    private Throwable cause(Throwable err) {
+      final SocketTimeoutException t = timeout;
+      return t != null ? t : err;
+    }
+
+    /**
+     * @return the response body, recording activity whenever a chunk is emitted and failing with the timeout
+     */
+    private Publisher<ByteBuffer> watch(Publisher<ByteBuffer> body) {
+      return subscriber -> body.subscribe(new Subscriber<ByteBuffer>() {
+        @Override
+        public void onSubscribe(Subscription subscription) {
+          subscriber.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+          touch();
+          subscriber.onNext(byteBuffer);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+          subscriber.onError(cause(t));
+        }
+
+        @Override
+        public void onComplete() {
+          subscriber.onComplete();
+        }
+      });
+    }
+  }
+
+  private static final class CancellingSubscriber implements Subscriber<ByteBuffer> {
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      subscription.cancel();
+    }
+
+    @Override
+    public void onNext(ByteBuffer byteBuffer) {
+    }
+
+    @Override
+    public void onError(Throwable t) {
+    }
+
+    @Override
+    public void onComplete() {
+    }
+  }
+
+  private static final class Permit {
+
+    private final long start = System.nanoTime();
+    // the request got a connection
+    private volatile boolean sent;
+    private volatile boolean throttled;
+    // a hedged attempt cancelled as the other one answered first
+    private volatile boolean superseded;
+  }
+
+  private static final class Endpoint {
+
+    private final String host;
+    private final int port;
+    private final boolean ssl;
+    private final SocketAddress server;
+
+    private Endpoint(String host, int port, boolean ssl) {
+      this.host = host;
+      this.port = port;
+      this.ssl = ssl;
+      this.server = SocketAddress.inetSocketAddress(port, host);
+    }
+
+    private boolean matches(String host, int port, boolean ssl) {
+      return this.port == port && this.ssl == ssl && this.host.equals(host);
+    }
   }
 
+    @Override
+    public String clientName() {
+        return CLIENT_NAME;
+    }
+
     @Override
     public void close() {
+        if (!closed.compareAndSet(false, true)) {
+          return;
+        }
         client.close();
+        if (sharedName != null) {
+          releaseSharedPool(context.owner());
+        }
+    }
+
+    /**
+     * Builds a {@link VertxNioAsyncHttpClient} from the SDK HTTP configuration:
+     * <ul>
+     *   <li>{@code maxConcurrency} is the maximum number of connections per endpoint ({@link HttpClientOptions#setMaxPoolSize(int)}),
+     *   with HTTP/2 it is spread over connections of {@code http2MaxStreams} streams</li>
+     *   <li>{@code maxPendingConnectionAcquires} is the size of the pool wait queue ({@link HttpClientOptions#setMaxWaitQueueSize(int)})</li>
+     *   <li>{@code connectionAcquisitionTimeout} is the time a request may wait for a connection, enforced with a timer</li>
+     *   <li>{@code connectionTimeout} is the TCP connect timeout ({@link HttpClientOptions#setConnectTimeout(int)})</li>
+     *   <li>{@code connectionMaxIdleTime} is the time an unused connection is kept in the pool ({@link HttpClientOptions#setKeepAliveTimeout(int)})</li>
+     *   <li>{@code connectionTimeToLive} is the maximum lifetime of a connection, checked whenever it is used</li>
+     *   <li>{@code protocol} {@link Protocol#HTTP2} enables HTTP/2, negotiated with ALPN</li>
+     *   <li>{@code tlsNegotiationTimeout} is the TLS handshake timeout ({@link HttpClientOptions#setSslHandshakeTimeout(long)})</li>
+     *   <li>{@code readTimeout} is the time a request may neither send nor receive any data, enforced with a timer</li>
+     * </ul>
+     * Settings set on this builder take precedence over the service defaults, which take precedence over the
+     * {@link #clientOptions(HttpClientOptions) base options}. The SDK global defaults (50 connections, 10s acquisition
+     * timeout, ...) are only used when no base options are given.
+     */
+    public static final class Builder implements SdkAsyncHttpClient.Builder<Builder> {
+
+        private final AttributeMap.Builder standardOptions;
+        private Context context;
+        private DispatchMode dispatchMode = DispatchMode.CALLER_EVENT_LOOP;
+        private boolean shared;
+        private String sharedName;
+        private HttpClientOptions clientOptions;
+        private Integer http2MaxStreams;
+        private boolean openSsl;
+        private Consumer<VertxNioAsyncHttpClient> buildHandler;
+        private VertxDnsCache dnsCache;
+        private Duration responseTimeout;
+        private AdaptiveConcurrencyLimiter limiter;
+        private HedgingPolicy hedging;
+
+        private Builder() {
+            standardOptions = AttributeMap.builder();
+        }
+
+        private Builder(Builder other) {
+            standardOptions = other.standardOptions.build().toBuilder();
+            context = other.context;
+            dispatchMode = other.dispatchMode;
+            shared = other.shared;
+            sharedName = other.sharedName;
+            clientOptions = other.clientOptions;
+            http2MaxStreams = other.http2MaxStreams;
+            openSsl = other.openSsl;
+            buildHandler = other.buildHandler;
+            dnsCache = other.dnsCache;
+            responseTimeout = other.responseTimeout;
+            limiter = other.limiter;
+            hedging = other.hedging;
+        }
+
+        /**
+         * The context requests are executed on, mandatory.
+         */
+        public Builder context(Context context) {
+            this.context = context;
+            return this;
+        }
+
+        /**
+         * Where requests are executed, {@link DispatchMode#CALLER_EVENT_LOOP} by default.
+         */
+        public Builder dispatchMode(DispatchMode dispatchMode) {
+            this.dispatchMode = requireNonNull(dispatchMode);
+            return this;
+        }
+
+        /**
+         * Whether the Vert.x HTTP client (hence its connection pool and TLS sessions) is shared with the other shared
+         * clients of the same Vert.x instance having the same settings, {@code false} by default.
+         * Sharing lets the many SDK clients of an application (or of each verticle instance) use a single pool.
+         * Building fails when the base options set custom TLS options, use {@link #sharedName(String)} instead.
+         */
+        public Builder shared(boolean shared) {
+            this.shared = shared;
+            return this;
+        }
+
+        /**
+         * Shares the Vert.x HTTP client with the other clients of the same Vert.x instance having the same name, whatever
+         * their settings, which should be the same. Required to share clients whose base options set custom TLS options
+         * (e.g. {@link io.vertx.core.net.TrustOptions#wrap}), which can't be compared.
+         */
+        public Builder sharedName(String sharedName) {
+            this.sharedName = requireNonNull(sharedName);
+            this.shared = true;
+            return this;
+        }
+
+        /**
+         * Resolves the endpoints with the given cache rather than on every connection, connections being spread over all
+         * the addresses of an endpoint. Vert.x pools connections per address, {@code maxConcurrency} then applies to each
+         * address. Not used when a proxy is configured.
+         */
+        public Builder dnsCache(VertxDnsCache dnsCache) {
+            this.dnsCache = dnsCache;
+            return this;
+        }
+
+        /**
+         * Limits the requests in flight, adapting the limit to the throttling of the service, no limiter by default.
+         * Requests over the limit wait for the limit to allow them, or are rejected when too many of them already wait.
+         */
+        public Builder concurrencyLimiter(AdaptiveConcurrencyLimiter limiter) {
+            this.limiter = limiter;
+            return this;
+        }
+
+        /**
+         * Sends latency-sensitive idempotent requests a second time when their response is late, no hedging by default.
+         * The pool must allow the extra connections.
+         */
+        public Builder hedging(HedgingPolicy hedging) {
+            this.hedging = hedging;
+            return this;
+        }
+
+        /**
+         * Base Vert.x options, for settings that have no SDK equivalent (proxy, TLS, ...).
+         */
+        public Builder clientOptions(HttpClientOptions clientOptions) {
+            this.clientOptions = clientOptions;
+            return this;
+        }
+
+        public Builder maxConcurrency(int maxConcurrency) {
+            standardOptions.put(SdkHttpConfigurationOption.MAX_CONNECTIONS, maxConcurrency);
+            return this;
+        }
+
+        public Builder maxPendingConnectionAcquires(int maxPendingAcquires) {
+            standardOptions.put(SdkHttpConfigurationOption.MAX_PENDING_CONNECTION_ACQUIRES, maxPendingAcquires);
+            return this;
+        }
+
+        public Builder connectionAcquisitionTimeout(Duration connectionAcquisitionTimeout) {
+            standardOptions.put(SdkHttpConfigurationOption.CONNECTION_ACQUIRE_TIMEOUT, requireNonNull(connectionAcquisitionTimeout));
+            return this;
+        }
+
+        public Builder connectionTimeout(Duration connectionTimeout) {
+            standardOptions.put(SdkHttpConfigurationOption.CONNECTION_TIMEOUT, requireNonNull(connectionTimeout));
+            return this;
+        }
+
+        public Builder connectionMaxIdleTime(Duration maxIdleConnectionTimeout) {
+            standardOptions.put(SdkHttpConfigurationOption.CONNECTION_MAX_IDLE_TIMEOUT, requireNonNull(maxIdleConnectionTimeout));
+            return this;
+        }
+
+        public Builder connectionTimeToLive(Duration connectionTimeToLive) {
+            standardOptions.put(SdkHttpConfigurationOption.CONNECTION_TIME_TO_LIVE, requireNonNull(connectionTimeToLive));
+            return this;
+        }
+
+        public Builder tcpKeepAlive(boolean keepConnectionAlive) {
+            standardOptions.put(SdkHttpConfigurationOption.TCP_KEEPALIVE, keepConnectionAlive);
+            return this;
+        }
+
+        public Builder protocol(Protocol protocol) {
+            standardOptions.put(SdkHttpConfigurationOption.PROTOCOL, requireNonNull(protocol));
+            return this;
+        }
+
+        public Builder readTimeout(Duration readTimeout) {
+            standardOptions.put(SdkHttpConfigurationOption.READ_TIMEOUT, requireNonNull(readTimeout));
+            return this;
+        }
+
+        /**
+         * Maximum time between obtaining a connection and receiving the response headers, no limit by default.
+         * The request is reset when it expires, closing its HTTP/1.x connection.
+         */
+        public Builder responseTimeout(Duration responseTimeout) {
+            this.responseTimeout = responseTimeout;
+            return this;
+        }
+
+        public Builder tlsNegotiationTimeout(Duration tlsNegotiationTimeout) {
+            standardOptions.put(SdkHttpConfigurationOption.TLS_NEGOTIATION_TIMEOUT, requireNonNull(tlsNegotiationTimeout));
+            return this;
+        }
+
+        /**
+         * Whether TLS is handled by OpenSSL ({@code netty-tcnative}, e.g. its BoringSSL flavour) rather than the JDK, with
+         * TLS session caching so that new connections to an endpoint resume the sessions of the previous ones.
+         * Handshakes are much cheaper with OpenSSL, {@code false} by default. Ignored when {@code netty-tcnative} is not
+         * on the classpath, or when the base options set an SSL engine.
+         */
+        public Builder openSsl(boolean openSsl) {
+            this.openSsl = openSsl;
+            return this;
+        }
+
+        /**
+         * Maximum number of concurrent streams per HTTP/2 connection ({@link HttpClientOptions#setHttp2MultiplexingLimit(int)}),
+         * by default the limit advertised by the server is used, with a single connection per endpoint.
+         */
+        public Builder http2MaxStreams(int http2MaxStreams) {
+            this.http2MaxStreams = http2MaxStreams;
+            return this;
+        }
+
+        @Override
+        public VertxNioAsyncHttpClient build() {
+            return buildWithDefaults(AttributeMap.empty());
+        }
+
+        @Override
+        public VertxNioAsyncHttpClient buildWithDefaults(AttributeMap serviceDefaults) {
+            requireNonNull(context, "A Vert.x context is required");
+            AttributeMap config = standardOptions.build().merge(serviceDefaults);
+            if (clientOptions == null) {
+                config = config.merge(SdkHttpConfigurationOption.GLOBAL_HTTP_DEFAULTS);
+            }
+            final VertxNioAsyncHttpClient client = new VertxNioAsyncHttpClient(context, vertxClientOptions(config), dispatchMode, shared, sharedName, dnsCache, limiter, hedging, responseTimeout, config);
+            if (buildHandler != null) {
+                buildHandler.accept(client);
+            }
+            return client;
+        }
+
+        /**
+         * @return a builder with the same settings, which can be changed without affecting this one
+         */
+        Builder copy() {
+            return new Builder(this);
+        }
+
+        /**
+         * Called with the clients built, which are otherwise only known by the SDK client.
+         */
+        Builder buildHandler(Consumer<VertxNioAsyncHttpClient> buildHandler) {
+            this.buildHandler = buildHandler;
+            return this;
+        }
+
+        private HttpClientOptions vertxClientOptions(AttributeMap config) {
+            final HttpClientOptions options = new HttpClientOptions(clientOptions == null ? DEFAULT_CLIENT_OPTIONS : clientOptions);
+            final Integer maxConnections = config.get(SdkHttpConfigurationOption.MAX_CONNECTIONS);
+            if (maxConnections != null) {
+                options.setMaxPoolSize(maxConnections);
+                if (http2MaxStreams != null) {
+                    options
+                      .setHttp2MultiplexingLimit(http2MaxStreams)
+                      .setHttp2MaxPoolSize(Math.max(1, (maxConnections + http2MaxStreams - 1) / http2MaxStreams));
+                }
+            }
+            final Integer maxPendingAcquires = config.get(SdkHttpConfigurationOption.MAX_PENDING_CONNECTION_ACQUIRES);
+            if (maxPendingAcquires != null) {
+                options.setMaxWaitQueueSize(maxPendingAcquires);
+            }
+            final Duration connectionTimeout = config.get(SdkHttpConfigurationOption.CONNECTION_TIMEOUT);
+            if (connectionTimeout != null) {
+                options.setConnectTimeout(saturatedCast(connectionTimeout.toMillis()));
+            }
+            final Duration maxIdle = config.get(SdkHttpConfigurationOption.CONNECTION_MAX_IDLE_TIMEOUT);
+            if (maxIdle != null) {
+                // Vert.x keep alive timeouts are expressed in seconds, 0 would mean no timeout at all
+                final int seconds = saturatedCast(Math.max(1, maxIdle.getSeconds()));
+                options
+                  .setKeepAliveTimeout(seconds)
+                  .setHttp2KeepAliveTimeout(seconds);
+            }
+            final Boolean tcpKeepAlive = config.get(SdkHttpConfigurationOption.TCP_KEEPALIVE);
+            if (tcpKeepAlive != null) {
+                options.setTcpKeepAlive(tcpKeepAlive);
+            }
+            final Duration tlsNegotiationTimeout = config.get(SdkHttpConfigurationOption.TLS_NEGOTIATION_TIMEOUT);
+            if (tlsNegotiationTimeout != null) {
+                options
+                  .setSslHandshakeTimeout(tlsNegotiationTimeout.toMillis())
+                  .setSslHandshakeTimeoutUnit(TimeUnit.MILLISECONDS);
+            }
+            if (openSsl && options.getSslEngineOptions() == null && OpenSSLEngineOptions.isAvailable()) {
+                options.setSslEngineOptions(new OpenSSLEngineOptions().setSessionCacheEnabled(true));
+            }
+            if (config.get(SdkHttpConfigurationOption.PROTOCOL) == Protocol.HTTP2) {
+                options
+                  .setProtocolVersion(HttpVersion.HTTP_2)
+                  .setUseAlpn(true);
+            }
+            return options;
+        }
+
+        private static int saturatedCast(long value) {
+            return (int) Math.min(Integer.MAX_VALUE, value);
+        }
     }
 }
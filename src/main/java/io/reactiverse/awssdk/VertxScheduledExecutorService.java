@@ -0,0 +1,207 @@
+package io.reactiverse.awssdk;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link ScheduledExecutorService} running tasks on a Vert.x context, delayed tasks being scheduled with Vert.x timers.
+ * <p>
+ * Given to the SDK (see {@link VertxSdkClient#overrideConfiguration(Context)}), retry backoffs and timeouts are handled on
+ * the event loop rather than by a thread pool of the SDK client, saving threads and thread hops.
+ * Like {@link VertxExecutor}, only non-blocking tasks must be submitted.
+ */
+public class VertxScheduledExecutorService extends AbstractExecutorService implements ScheduledExecutorService {
+
+    private final Context context;
+    private final Set<Task<?>> scheduled = ConcurrentHashMap.newKeySet();
+    private volatile boolean shutdown;
+
+    public VertxScheduledExecutorService(Context context) {
+        this.context = requireNonNull(context);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        requireNonNull(command);
+        checkRunning();
+        context.runOnContext(v -> command.run());
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        requireNonNull(command);
+        return schedule(() -> {
+            command.run();
+            return null;
+        }, delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        requireNonNull(callable);
+        final Task<V> task = new Task<>(unit.toNanos(delay));
+        task.schedule(delay, unit, () -> {
+            try {
+                task.complete(callable.call());
+            } catch (Throwable t) {
+                task.completeExceptionally(t);
+            }
+        });
+        return task;
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        return schedulePeriodic(command, initialDelay, period, unit, true);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        return schedulePeriodic(command, initialDelay, delay, unit, false);
+    }
+
+    private ScheduledFuture<?> schedulePeriodic(Runnable command, long initialDelay, long period, TimeUnit unit, boolean fixedRate) {
+        requireNonNull(command);
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive: " + period);
+        }
+        final Task<Void> task = new Task<>(unit.toNanos(initialDelay));
+        task.schedule(initialDelay, unit, new Runnable() {
+            @Override
+            public void run() {
+                // the next run of a fixed rate task is due a period after this one was, whatever this one lasts
+                final long nextDeadline = fixedRate ? task.deadline + unit.toNanos(period) : -1;
+                try {
+                    command.run();
+                } catch (Throwable t) {
+                    // as with any ScheduledExecutorService, a failure stops the subsequent runs
+                    task.completeExceptionally(t);
+                    return;
+                }
+                if (shutdown) {
+                    task.cancel(false);
+                    return;
+                }
+                final long delayNanos = fixedRate ? nextDeadline - System.nanoTime() : unit.toNanos(period);
+                task.deadline = System.nanoTime() + delayNanos;
+                task.schedule(delayNanos, TimeUnit.NANOSECONDS, this);
+            }
+        });
+        return task;
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    /**
+     * Cancels the scheduled tasks, tasks already submitted to the context still run.
+     *
+     * @return an empty list: scheduled tasks are not returned
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        for (Task<?> task : scheduled) {
+            task.cancel(false);
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && scheduled.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!isTerminated()) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(10)));
+        }
+        return true;
+    }
+
+    private void checkRunning() {
+        if (shutdown) {
+            throw new RejectedExecutionException("The executor has been shut down");
+        }
+    }
+
+    private final class Task<V> extends CompletableFuture<V> implements ScheduledFuture<V> {
+
+        // System.nanoTime() of the next run
+        private volatile long deadline;
+        private volatile long timerId = -1;
+
+        private Task(long delayNanos) {
+            checkRunning();
+            this.deadline = System.nanoTime() + delayNanos;
+            scheduled.add(this);
+            whenComplete((v, err) -> scheduled.remove(this));
+        }
+
+        private void schedule(long delay, TimeUnit unit, Runnable action) {
+            final Handler<Void> run = v -> {
+                if (!isDone()) {
+                    action.run();
+                }
+            };
+            // Vert.x timers have a millisecond resolution, tasks must not run early
+            final long delayMs = (unit.toNanos(delay) + 999_999) / 1_000_000;
+            if (delayMs <= 0) {
+                context.runOnContext(run);
+            } else if (Vertx.currentContext() == context) {
+                timerId = context.owner().setTimer(delayMs, id -> run.handle(null));
+            } else {
+                // timers fire on the context creating them
+                timerId = context.owner().setTimer(delayMs, id -> context.runOnContext(run));
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            final long id = timerId;
+            if (id >= 0) {
+                context.owner().cancelTimer(id);
+            }
+            return super.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.reactiverse.awssdk;
+
+import io.vertx.core.Future;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+
+import java.net.URI;
+
+/**
+ * An {@link SdkAsyncHttpClient} backed by Vert.x HTTP clients.
+ */
+public interface VertxSdkAsyncHttpClient extends SdkAsyncHttpClient {
+
+  /**
+   * Opens connections to an endpoint ahead of the first requests, so that they don't pay for the DNS resolution, TCP
+   * and TLS handshakes.
+   *
+   * @param endpoint the service endpoint, e.g. {@code https://dynamodb.eu-west-1.amazonaws.com}
+   * @param connections the number of connections to open for each Vert.x HTTP client (i.e. for each event loop), at
+   *                    most the size of its pool
+   * @return completed once the connections are established, failed if they can't be in time
+   */
+  Future<Void> warmUp(URI endpoint, int connections);
+
+}
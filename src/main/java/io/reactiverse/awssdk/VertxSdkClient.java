@@ -1,10 +1,17 @@
 package io.reactiverse.awssdk;
 
 import io.vertx.core.Context;
+import io.vertx.core.Future;
 import io.vertx.core.http.HttpClientOptions;
 import software.amazon.awssdk.awscore.client.builder.AwsAsyncClientBuilder;
 import software.amazon.awssdk.core.SdkClient;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
+import software.amazon.awssdk.utils.builder.SdkBuilder;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 
 public interface VertxSdkClient {
 
@@ -24,4 +31,65 @@ public interface VertxSdkClient {
       );
   }
 
+  /**
+   * Configures the SDK client with a {@link VertxNioAsyncHttpClient} built by the SDK from {@code httpClientBuilder},
+   * so that connection pool settings (maxConcurrency, connectionAcquisitionTimeout, ...) and service defaults (such as
+   * HTTP/2 for Kinesis) are mapped onto the Vert.x HTTP client.
+   */
+  static<C extends SdkClient, B extends AwsAsyncClientBuilder<B, C>> B withVertx(B builder, VertxNioAsyncHttpClient.Builder httpClientBuilder, Context context) {
+    return builder
+      .httpClientBuilder(httpClientBuilder.context(context))
+      .asyncConfiguration(conf ->
+        conf.advancedOption(SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR, new VertxExecutor(context))
+      );
+  }
+
+  /**
+   * Override configuration running the SDK retry backoffs and timeouts on the given context, with a
+   * {@link VertxScheduledExecutorService}, instead of a scheduler thread of the SDK client. Complete it with the rest of
+   * the override configuration of the SDK client:
+   * <pre>{@code
+   * VertxSdkClient.withVertx(DynamoDbAsyncClient.builder(), context)
+   *   .overrideConfiguration(VertxSdkClient.overrideConfiguration(context)
+   *     .apiCallAttemptTimeout(Duration.ofSeconds(1))
+   *     .build())
+   *   .build();
+   * }</pre>
+   */
+  static ClientOverrideConfiguration.Builder overrideConfiguration(Context context) {
+    return ClientOverrideConfiguration.builder()
+      .scheduledExecutorService(new VertxScheduledExecutorService(context));
+  }
+
+  /**
+   * Builds the SDK client like {@link #withVertx(AwsAsyncClientBuilder, VertxNioAsyncHttpClient.Builder, Context)}, then
+   * opens {@code connections} connections to {@code endpoint}, so that the first requests don't pay for the DNS
+   * resolution, TCP and TLS handshakes.
+   * <pre>{@code
+   * VertxSdkClient.buildWarm(DynamoDbAsyncClient.builder().region(Region.EU_WEST_1), VertxNioAsyncHttpClient.builder(),
+   *   context, URI.create("https://dynamodb.eu-west-1.amazonaws.com"), 10)
+   *   .onSuccess(dynamo -> startPromise.complete());
+   * }</pre>
+   *
+   * @return the SDK client, once the connections are established, or failed (the SDK client being closed) if they can't be
+   */
+  static<C extends SdkClient, B extends AwsAsyncClientBuilder<B, C> & SdkBuilder<B, C>> Future<C> buildWarm(B builder, VertxNioAsyncHttpClient.Builder httpClientBuilder, Context context, URI endpoint, int connections) {
+    final List<VertxNioAsyncHttpClient> httpClients = new ArrayList<>(1);
+    // the SDK builder keeps the HTTP client builder, the caller's one is left untouched
+    final VertxNioAsyncHttpClient.Builder warmBuilder = httpClientBuilder.copy().buildHandler(httpClients::add);
+    final C client;
+    try {
+      client = withVertx(builder, warmBuilder, context).build();
+    } finally {
+      warmBuilder.buildHandler(null);
+    }
+    final List<Future<Void>> warmed = new ArrayList<>(httpClients.size());
+    for (VertxNioAsyncHttpClient httpClient : httpClients) {
+      warmed.add(httpClient.warmUp(endpoint, connections));
+    }
+    return Future.all(warmed)
+      .map(client)
+      .onFailure(err -> client.close());
+  }
+
 }
@@ -0,0 +1,183 @@
+package io.reactiverse.awssdk;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Context;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClientOptions;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An {@link SdkAsyncHttpClient} spreading requests over several Vert.x contexts, each one owning its own
+ * {@link VertxNioAsyncHttpClient} (hence its own connection pool). Using contexts bound to different event loops
+ * lets a single SDK client use more than one core.
+ * <p>
+ * The futures returned by {@link #execute(AsyncExecuteRequest)} are completed on the caller's context when the request
+ * was issued from a Vert.x context.
+ */
+public class VertxShardedNioAsyncHttpClient implements VertxSdkAsyncHttpClient {
+
+    public enum Strategy {
+        /** Requests are dispatched to each shard in turn */
+        ROUND_ROBIN,
+        /** Requests are dispatched to the shard with the fewest requests in flight */
+        LEAST_IN_FLIGHT
+    }
+
+    private final List<Shard> shards;
+    private final Strategy strategy;
+    private final AtomicInteger next = new AtomicInteger();
+    // the verticles owning the contexts of the shards, when created by this class
+    private final Vertx vertx;
+    private final String deploymentId;
+
+    public VertxShardedNioAsyncHttpClient(List<Context> contexts) {
+        this(contexts, null, Strategy.ROUND_ROBIN);
+    }
+
+    /**
+     * @param contexts the contexts requests are dispatched to, ideally bound to different event loops
+     * @param clientOptions the options of the HTTP client of each shard, {@code null} for the defaults
+     * @param strategy how a shard is chosen for each request
+     */
+    public VertxShardedNioAsyncHttpClient(List<Context> contexts, HttpClientOptions clientOptions, Strategy strategy) {
+        this(contexts, clientOptions, strategy, null, null);
+    }
+
+    private VertxShardedNioAsyncHttpClient(List<Context> contexts, HttpClientOptions clientOptions, Strategy strategy, Vertx vertx, String deploymentId) {
+        requireNonNull(contexts);
+        requireNonNull(strategy);
+        if (contexts.isEmpty()) {
+            throw new IllegalArgumentException("At least one context is required");
+        }
+        final List<Shard> shards = new ArrayList<>(contexts.size());
+        for (Context context : contexts) {
+            final VertxNioAsyncHttpClient client = clientOptions == null
+              ? new VertxNioAsyncHttpClient(context)
+              : new VertxNioAsyncHttpClient(context, clientOptions);
+            shards.add(new Shard(context, client));
+        }
+        this.shards = Collections.unmodifiableList(shards);
+        this.strategy = strategy;
+        this.vertx = vertx;
+        this.deploymentId = deploymentId;
+    }
+
+    /**
+     * Creates a client with {@code shardCount} shards, each one bound to the event-loop context of an instance of a
+     * verticle doing nothing else. Event loops being assigned to verticle instances in turn, a shard count lower or equal
+     * to the event-loop pool size gives each shard its own event loop. The verticle is undeployed when the client is
+     * closed.
+     */
+    public static Future<VertxShardedNioAsyncHttpClient> create(Vertx vertx, int shardCount, HttpClientOptions clientOptions, Strategy strategy) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("shardCount must be > 0, got " + shardCount);
+        }
+        requireNonNull(strategy);
+        final List<Context> contexts = Collections.synchronizedList(new ArrayList<>(shardCount));
+        return vertx.deployVerticle(() -> new AbstractVerticle() {
+            @Override
+            public void start() {
+                contexts.add(context);
+            }
+        }, new DeploymentOptions().setInstances(shardCount))
+            .map(id -> new VertxShardedNioAsyncHttpClient(contexts, clientOptions, strategy, vertx, id));
+    }
+
+    @Override
+    public CompletableFuture<Void> execute(AsyncExecuteRequest asyncExecuteRequest) {
+        final Context caller = Vertx.currentContext();
+        final Shard shard = select();
+        final CompletableFuture<Void> shardFut = new CompletableFuture<>();
+        final CompletableFuture<Void> fut = new CompletableFuture<>();
+        shard.inFlight.incrementAndGet();
+        shardFut.whenComplete((v, err) -> {
+            shard.inFlight.decrementAndGet();
+            if (caller == null || Vertx.currentContext() == caller) {
+                complete(fut, err);
+            } else {
+                caller.runOnContext(x -> complete(fut, err));
+            }
+        });
+        if (Vertx.currentContext() == shard.context) {
+            shard.client.executeOnContext(asyncExecuteRequest, shardFut);
+        } else {
+            shard.context.runOnContext(v -> shard.client.executeOnContext(asyncExecuteRequest, shardFut));
+        }
+        return fut;
+    }
+
+    /**
+     * Warms up every shard, {@code connections} are opened by each one.
+     */
+    @Override
+    public Future<Void> warmUp(URI endpoint, int connections) {
+        final List<Future<Void>> warmed = new ArrayList<>(shards.size());
+        for (Shard shard : shards) {
+            warmed.add(shard.client.warmUp(endpoint, connections));
+        }
+        return Future.all(warmed).mapEmpty();
+    }
+
+    @Override
+    public String clientName() {
+        return shards.get(0).client.clientName();
+    }
+
+    @Override
+    public void close() {
+        shards.forEach(shard -> shard.client.close());
+        if (deploymentId != null && vertx.deploymentIDs().contains(deploymentId)) {
+            vertx.undeploy(deploymentId);
+        }
+    }
+
+    private Shard select() {
+        if (shards.size() == 1) {
+            return shards.get(0);
+        }
+        if (strategy == Strategy.ROUND_ROBIN) {
+            return shards.get(Math.floorMod(next.getAndIncrement(), shards.size()));
+        }
+        // start from a rotating index so that ties are not always resolved in favour of the first shard
+        final int start = Math.floorMod(next.getAndIncrement(), shards.size());
+        Shard best = null;
+        for (int i = 0; i < shards.size(); i++) {
+            final Shard shard = shards.get((start + i) % shards.size());
+            if (best == null || shard.inFlight.get() < best.inFlight.get()) {
+                best = shard;
+            }
+        }
+        return best;
+    }
+
+    private static void complete(CompletableFuture<Void> fut, Throwable err) {
+        if (err != null) {
+            fut.completeExceptionally(err);
+        } else {
+            fut.complete(null);
+        }
+    }
+
+    private static final class Shard {
+        private final Context context;
+        private final VertxNioAsyncHttpClient client;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private Shard(Context context, VertxNioAsyncHttpClient client) {
+            this.context = context;
+            this.client = client;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package io.reactiverse.awssdk.auth;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+/**
+ * Loads credentials from the ECS/EKS container credentials endpoint.
+ */
+class ContainerCredentialsLoader implements CredentialsLoader {
+
+    static final String DEFAULT_ENDPOINT = "http://169.254.170.2";
+
+    private final Vertx vertx;
+    private final HttpClient client;
+    private final boolean ownsClient;
+    private final String uri;
+    private final String authorizationToken;
+    private final String authorizationTokenFile;
+
+    /**
+     * @param client the client loading the credentials, not closed with the loader, {@code null} to create one
+     * @param clientOptions the options of the client created when none is given
+     * @param authorizationToken {@code Authorization} header value, can be {@code null}
+     * @param authorizationTokenFile file containing the {@code Authorization} header value, read on every load, can be {@code null}
+     */
+    ContainerCredentialsLoader(Vertx vertx, HttpClient client, HttpClientOptions clientOptions, String uri, String authorizationToken, String authorizationTokenFile) {
+        this.vertx = vertx;
+        this.ownsClient = client == null;
+        this.client = client != null ? client : vertx.createHttpClient(clientOptions);
+        this.uri = uri;
+        this.authorizationToken = authorizationToken;
+        this.authorizationTokenFile = authorizationTokenFile;
+    }
+
+    /**
+     * Configured like the SDK {@code ContainerCredentialsProvider}, from the {@code AWS_CONTAINER_*} environment variables.
+     */
+    static ContainerCredentialsLoader fromEnvironment(Vertx vertx, HttpClient client, HttpClientOptions clientOptions) {
+        final String fullUri = System.getenv("AWS_CONTAINER_CREDENTIALS_FULL_URI");
+        final String relativeUri = System.getenv("AWS_CONTAINER_CREDENTIALS_RELATIVE_URI");
+        if (fullUri == null && relativeUri == null) {
+            throw SdkClientException.create("Neither AWS_CONTAINER_CREDENTIALS_FULL_URI nor AWS_CONTAINER_CREDENTIALS_RELATIVE_URI is set");
+        }
+        return new ContainerCredentialsLoader(vertx, client, clientOptions,
+            fullUri != null ? fullUri : DEFAULT_ENDPOINT + relativeUri,
+            System.getenv("AWS_CONTAINER_AUTHORIZATION_TOKEN"),
+            System.getenv("AWS_CONTAINER_AUTHORIZATION_TOKEN_FILE"));
+    }
+
+    @Override
+    public Future<ExpiringCredentials> load() {
+        return authorizationToken()
+            .compose(token -> {
+                final RequestOptions options = new RequestOptions()
+                    .setMethod(HttpMethod.GET)
+                    .setAbsoluteURI(uri)
+                    .setTimeout(VertxCredentialsProvider.METADATA_REQUEST_TIMEOUT_MS);
+                if (token != null) {
+                    options.putHeader(HttpHeaders.AUTHORIZATION, token);
+                }
+                return client.request(options);
+            })
+            .compose(req -> req.send())
+            .compose(res -> {
+                if (res.statusCode() != 200) {
+                    return Future.failedFuture(SdkClientException.create("Container credentials endpoint responded with status " + res.statusCode()));
+                }
+                return res.body();
+            })
+            .map(body -> ExpiringCredentials.fromJson(body.toJsonObject()));
+    }
+
+    private Future<String> authorizationToken() {
+        if (authorizationTokenFile != null) {
+            return vertx.fileSystem().readFile(authorizationTokenFile).map(content -> content.toString().trim());
+        }
+        return Future.succeededFuture(authorizationToken);
+    }
+
+    @Override
+    public void close() {
+        if (ownsClient) {
+            client.close();
+        }
+    }
+}
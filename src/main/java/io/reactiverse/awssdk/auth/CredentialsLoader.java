@@ -0,0 +1,28 @@
+package io.reactiverse.awssdk.auth;
+
+import io.vertx.core.Future;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+/**
+ * Loads credentials without blocking, called by {@link VertxCredentialsProvider} on its context.
+ * <p>
+ * Any asynchronous source can be plugged, e.g. STS through a Vert.x SDK client:
+ * <pre>{@code
+ * CredentialsLoader assumeRole = () -> Future.fromCompletionStage(sts.assumeRole(req -> req.roleArn(arn).roleSessionName("my-app")))
+ *   .map(res -> new ExpiringCredentials(
+ *     AwsSessionCredentials.create(res.credentials().accessKeyId(), res.credentials().secretAccessKey(), res.credentials().sessionToken()),
+ *     res.credentials().expiration()));
+ * }</pre>
+ */
+@FunctionalInterface
+public interface CredentialsLoader extends SdkAutoCloseable {
+
+    Future<ExpiringCredentials> load();
+
+    /**
+     * Releases the resources of the loader, called when the provider is closed.
+     */
+    @Override
+    default void close() {
+    }
+}
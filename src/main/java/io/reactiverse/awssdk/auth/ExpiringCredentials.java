@@ -0,0 +1,54 @@
+package io.reactiverse.awssdk.auth;
+
+import io.vertx.core.json.JsonObject;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
+
+import java.time.Instant;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Credentials along with their expiration time, if any.
+ */
+public final class ExpiringCredentials {
+
+    private final AwsCredentials credentials;
+    private final Instant expiration;
+
+    /**
+     * @param expiration {@code null} if the credentials never expire
+     */
+    public ExpiringCredentials(AwsCredentials credentials, Instant expiration) {
+        this.credentials = requireNonNull(credentials);
+        this.expiration = expiration;
+    }
+
+    /**
+     * Parses the JSON document returned by the container and instance metadata credentials endpoints.
+     */
+    public static ExpiringCredentials fromJson(JsonObject json) {
+        final String accessKeyId = requireNonNull(json.getString("AccessKeyId"), "AccessKeyId");
+        final String secretAccessKey = requireNonNull(json.getString("SecretAccessKey"), "SecretAccessKey");
+        final String token = json.getString("Token");
+        final String expiration = json.getString("Expiration");
+        return new ExpiringCredentials(
+            token == null
+                ? AwsBasicCredentials.create(accessKeyId, secretAccessKey)
+                : AwsSessionCredentials.create(accessKeyId, secretAccessKey, token),
+            expiration == null ? null : Instant.parse(expiration));
+    }
+
+    public AwsCredentials credentials() {
+        return credentials;
+    }
+
+    public Instant expiration() {
+        return expiration;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiration != null && !now.isBefore(expiration);
+    }
+}
@@ -0,0 +1,75 @@
+package io.reactiverse.awssdk.auth;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+/**
+ * Loads the credentials of the EC2 instance profile from the instance metadata service, with IMDSv2 session tokens.
+ */
+class InstanceProfileCredentialsLoader implements CredentialsLoader {
+
+    static final String DEFAULT_ENDPOINT = "http://169.254.169.254";
+    private static final String TOKEN_PATH = "/latest/api/token";
+    private static final String CREDENTIALS_PATH = "/latest/meta-data/iam/security-credentials/";
+    private static final String TOKEN_HEADER = "X-aws-ec2-metadata-token";
+    private static final String TOKEN_TTL_HEADER = "X-aws-ec2-metadata-token-ttl-seconds";
+    private static final String TOKEN_TTL_SECONDS = "21600";
+
+    private final HttpClient client;
+    private final boolean ownsClient;
+    private final String endpoint;
+
+    /**
+     * @param client the client loading the credentials, not closed with the loader, {@code null} to create one
+     * @param clientOptions the options of the client created when none is given
+     */
+    InstanceProfileCredentialsLoader(Vertx vertx, HttpClient client, HttpClientOptions clientOptions, String endpoint) {
+        this.ownsClient = client == null;
+        this.client = client != null ? client : vertx.createHttpClient(clientOptions);
+        this.endpoint = endpoint;
+    }
+
+    static InstanceProfileCredentialsLoader fromEnvironment(Vertx vertx, HttpClient client, HttpClientOptions clientOptions) {
+        final String endpoint = System.getenv("AWS_EC2_METADATA_SERVICE_ENDPOINT");
+        return new InstanceProfileCredentialsLoader(vertx, client, clientOptions, endpoint != null ? endpoint : DEFAULT_ENDPOINT);
+    }
+
+    @Override
+    public Future<ExpiringCredentials> load() {
+        return send(new RequestOptions().setMethod(HttpMethod.PUT).putHeader(TOKEN_TTL_HEADER, TOKEN_TTL_SECONDS), TOKEN_PATH)
+            .map(Buffer::toString)
+            .compose(token -> send(new RequestOptions().putHeader(TOKEN_HEADER, token), CREDENTIALS_PATH)
+                .compose(roles -> {
+                    final String role = roles.toString().trim().split("\n")[0].trim();
+                    if (role.isEmpty()) {
+                        return Future.failedFuture(SdkClientException.create("No instance profile attached to the instance"));
+                    }
+                    return send(new RequestOptions().putHeader(TOKEN_HEADER, token), CREDENTIALS_PATH + role);
+                }))
+            .map(body -> ExpiringCredentials.fromJson(body.toJsonObject()));
+    }
+
+    private Future<Buffer> send(RequestOptions options, String path) {
+        return client.request(options.setAbsoluteURI(endpoint + path).setTimeout(VertxCredentialsProvider.METADATA_REQUEST_TIMEOUT_MS))
+            .compose(req -> req.send())
+            .compose(res -> {
+                if (res.statusCode() != 200) {
+                    return Future.failedFuture(SdkClientException.create("Instance metadata service responded with status " + res.statusCode() + " to " + path));
+                }
+                return res.body();
+            });
+    }
+
+    @Override
+    public void close() {
+        if (ownsClient) {
+            client.close();
+        }
+    }
+}
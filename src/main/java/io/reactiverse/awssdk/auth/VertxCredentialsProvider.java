@@ -0,0 +1,211 @@
+package io.reactiverse.awssdk.auth;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Credentials provider loading credentials asynchronously, on a Vert.x context, and caching them.
+ * <p>
+ * Credentials are loaded as soon as the provider is created, then refreshed in the background on a Vert.x timer ahead
+ * of their expiration, so that {@link #resolveCredentials()} (called by the SDK for every request) only reads the cached
+ * credentials. If a refresh fails, the current credentials are kept and the refresh is retried a few seconds later.
+ * <p>
+ * Wait for {@link #ready()} before using the provider from an event loop: until the first credentials are loaded,
+ * {@link #resolveCredentials()} fails on event loop threads rather than blocking them.
+ * <pre>{@code
+ * VertxCredentialsProvider credentials = VertxCredentialsProvider.containerCredentials(vertx);
+ * credentials.ready().onSuccess(v -> {
+ *   DynamoDbAsyncClient dynamo = VertxSdkClient.withVertx(DynamoDbAsyncClient.builder().credentialsProvider(credentials), context).build();
+ * });
+ * }</pre>
+ */
+public class VertxCredentialsProvider implements AwsCredentialsProvider, SdkAutoCloseable {
+
+    public static final Duration DEFAULT_REFRESH_AHEAD = Duration.ofMinutes(5);
+
+    private static final long MIN_REFRESH_DELAY_MS = 1000;
+    private static final long RETRY_DELAY_MS = 10_000;
+    private static final long BLOCKING_WAIT_SECONDS = 10;
+    // the metadata endpoints are local, don't wait for them for long
+    private static final HttpClientOptions METADATA_CLIENT_OPTIONS = new HttpClientOptions()
+        .setConnectTimeout(1000)
+        .setIdleTimeout(5)
+        .setMaxPoolSize(1);
+    // set on every metadata request, as the client of the application may have no timeout at all
+    static final long METADATA_REQUEST_TIMEOUT_MS = 2000;
+
+    private final Vertx vertx;
+    private final Context context;
+    private final CredentialsLoader loader;
+    private final Duration refreshAhead;
+    private final Promise<Void> ready = Promise.promise();
+    private volatile ExpiringCredentials current;
+    private volatile boolean closed;
+    // only accessed on the context
+    private long timerId = -1;
+
+    private VertxCredentialsProvider(Vertx vertx, CredentialsLoader loader, Duration refreshAhead) {
+        this.vertx = requireNonNull(vertx);
+        this.loader = requireNonNull(loader);
+        this.refreshAhead = requireNonNull(refreshAhead);
+        this.context = vertx.getOrCreateContext();
+        context.runOnContext(v -> refresh());
+    }
+
+    /**
+     * @param refreshAhead how long before their expiration credentials are refreshed
+     */
+    public static VertxCredentialsProvider create(Vertx vertx, CredentialsLoader loader, Duration refreshAhead) {
+        return new VertxCredentialsProvider(vertx, loader, refreshAhead);
+    }
+
+    public static VertxCredentialsProvider create(Vertx vertx, CredentialsLoader loader) {
+        return create(vertx, loader, DEFAULT_REFRESH_AHEAD);
+    }
+
+    /**
+     * ECS/EKS container credentials, configured by the {@code AWS_CONTAINER_CREDENTIALS_FULL_URI} or
+     * {@code AWS_CONTAINER_CREDENTIALS_RELATIVE_URI} environment variables, with the optional
+     * {@code AWS_CONTAINER_AUTHORIZATION_TOKEN(_FILE)} authorization token.
+     */
+    public static VertxCredentialsProvider containerCredentials(Vertx vertx) {
+        return create(vertx, ContainerCredentialsLoader.fromEnvironment(vertx, null, METADATA_CLIENT_OPTIONS));
+    }
+
+    /**
+     * Container credentials loaded with the given client (e.g. the HTTP client of the application) rather than a
+     * client of their own. The client is not closed with the provider.
+     */
+    public static VertxCredentialsProvider containerCredentials(Vertx vertx, HttpClient client) {
+        return create(vertx, ContainerCredentialsLoader.fromEnvironment(vertx, requireNonNull(client), null));
+    }
+
+    /**
+     * Container credentials served by the given endpoint.
+     *
+     * @param authorizationToken {@code Authorization} header value, can be {@code null}
+     */
+    public static VertxCredentialsProvider containerCredentials(Vertx vertx, String uri, String authorizationToken, Duration refreshAhead) {
+        return create(vertx, new ContainerCredentialsLoader(vertx, null, METADATA_CLIENT_OPTIONS, requireNonNull(uri), authorizationToken, null), refreshAhead);
+    }
+
+    /**
+     * Container credentials served by the given endpoint, loaded with the given client, which is not closed with the
+     * provider.
+     *
+     * @param authorizationToken {@code Authorization} header value, can be {@code null}
+     */
+    public static VertxCredentialsProvider containerCredentials(Vertx vertx, HttpClient client, String uri, String authorizationToken, Duration refreshAhead) {
+        return create(vertx, new ContainerCredentialsLoader(vertx, requireNonNull(client), null, requireNonNull(uri), authorizationToken, null), refreshAhead);
+    }
+
+    /**
+     * EC2 instance profile credentials, from the instance metadata service (IMDSv2), whose endpoint can be overridden
+     * with the {@code AWS_EC2_METADATA_SERVICE_ENDPOINT} environment variable.
+     */
+    public static VertxCredentialsProvider instanceProfileCredentials(Vertx vertx) {
+        return create(vertx, InstanceProfileCredentialsLoader.fromEnvironment(vertx, null, METADATA_CLIENT_OPTIONS));
+    }
+
+    /**
+     * Instance profile credentials loaded with the given client (e.g. the HTTP client of the application) rather than a
+     * client of their own. The client is not closed with the provider.
+     */
+    public static VertxCredentialsProvider instanceProfileCredentials(Vertx vertx, HttpClient client) {
+        return create(vertx, InstanceProfileCredentialsLoader.fromEnvironment(vertx, requireNonNull(client), null));
+    }
+
+    /**
+     * @return completed once credentials have been loaded for the first time, failed if this first load failed
+     * (the provider keeps trying in the background though)
+     */
+    public Future<Void> ready() {
+        return ready.future();
+    }
+
+    @Override
+    public AwsCredentials resolveCredentials() {
+        final ExpiringCredentials credentials = current;
+        if (credentials != null) {
+            // even expired, the last credentials are the best we have while refreshing fails
+            return credentials.credentials();
+        }
+        if (Context.isOnEventLoopThread()) {
+            throw SdkClientException.create("Credentials are not loaded yet, wait for VertxCredentialsProvider.ready() before using it from an event loop");
+        }
+        try {
+            ready.future().toCompletionStage().toCompletableFuture().get(BLOCKING_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw SdkClientException.create("Interrupted while waiting for credentials", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw SdkClientException.create("Unable to load credentials", e instanceof ExecutionException ? e.getCause() : e);
+        }
+        return current.credentials();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        context.runOnContext(v -> {
+            if (timerId >= 0) {
+                vertx.cancelTimer(timerId);
+            }
+            loader.close();
+        });
+    }
+
+    private void refresh() {
+        if (closed) {
+            return;
+        }
+        final Future<ExpiringCredentials> load;
+        try {
+            load = loader.load();
+        } catch (RuntimeException e) {
+            loaded(Future.failedFuture(e));
+            return;
+        }
+        // the loader may complete on the context of its HTTP client, the timer is only scheduled and cancelled on ours
+        load.onComplete(ar -> context.runOnContext(v -> loaded(ar)));
+    }
+
+    private void loaded(AsyncResult<ExpiringCredentials> ar) {
+        if (closed) {
+            return;
+        }
+        if (ar.succeeded()) {
+            current = ar.result();
+            ready.tryComplete();
+            final Instant expiration = current.expiration();
+            if (expiration != null) {
+                final long untilRefresh = Duration.between(Instant.now(), expiration.minus(refreshAhead)).toMillis();
+                schedule(Math.max(untilRefresh, MIN_REFRESH_DELAY_MS));
+            }
+        } else {
+            ready.tryFail(ar.cause());
+            schedule(RETRY_DELAY_MS);
+        }
+    }
+
+    private void schedule(long delayMs) {
+        timerId = vertx.setTimer(delayMs, id -> refresh());
+    }
+}
@@ -0,0 +1,42 @@
+package io.reactiverse.awssdk.converters;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts between Vert.x {@link Buffer}s and Netty or NIO buffers without copying their memory.
+ * <p>
+ * Vert.x 4 deprecates {@link Buffer#buffer(ByteBuf)} and {@link Buffer#getByteBuf()} (Vert.x 5 moves them to its internal
+ * buffer API), without any copy-free alternative: they are only used here, so that moving to Vert.x 5 only changes
+ * this class.
+ */
+public final class BufferConverter {
+
+    private BufferConverter() {}
+
+    /**
+     * @return a buffer over the remaining bytes of {@code byteBuffer}, which must not be modified afterwards
+     */
+    public static Buffer wrap(ByteBuffer byteBuffer) {
+        return wrap(Unpooled.wrappedBuffer(byteBuffer));
+    }
+
+    /**
+     * @return a buffer over the readable bytes of {@code byteBuf}, which it takes ownership of
+     */
+    @SuppressWarnings("deprecation")
+    public static Buffer wrap(ByteBuf byteBuf) {
+        return Buffer.buffer(byteBuf);
+    }
+
+    /**
+     * @return a slice sharing the memory of {@code buffer}
+     */
+    @SuppressWarnings("deprecation")
+    public static ByteBuf byteBuf(Buffer buffer) {
+        return buffer.getByteBuf();
+    }
+}
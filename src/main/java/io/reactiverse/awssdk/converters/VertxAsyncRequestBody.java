@@ -0,0 +1,104 @@
+package io.reactiverse.awssdk.converters;
+
+import io.reactiverse.awssdk.reactivestreams.ReadStreamPublisher;
+import io.vertx.core.Vertx;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.OpenOptions;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An {@link AsyncRequestBody} reading a file (or a region of it) with a Vert.x {@link AsyncFile}.
+ * <p>
+ * The content length is known up-front, so the request is not sent with chunked encoding, and the file is read in large
+ * chunks that are handed over to the HTTP client without being copied. Each subscription opens the file again, which
+ * lets the SDK retry requests.
+ */
+public class VertxAsyncRequestBody implements AsyncRequestBody {
+
+    public static final int DEFAULT_READ_BUFFER_SIZE = 256 * 1024;
+
+    private static final OpenOptions READ_ONLY = new OpenOptions().setRead(true).setWrite(false).setCreate(false);
+
+    private final Vertx vertx;
+    private final String path;
+    private final long position;
+    private final long length;
+    private final int readBufferSize;
+
+    private VertxAsyncRequestBody(Vertx vertx, String path, long position, long length, int readBufferSize) {
+        if (position < 0 || length < 0) {
+            throw new IllegalArgumentException("Invalid file region: position " + position + ", length " + length);
+        }
+        if (readBufferSize <= 0) {
+            throw new IllegalArgumentException("readBufferSize must be positive: " + readBufferSize);
+        }
+        this.vertx = requireNonNull(vertx);
+        this.path = requireNonNull(path);
+        this.position = position;
+        this.length = length;
+        this.readBufferSize = readBufferSize;
+    }
+
+    /**
+     * The whole file. Its size is read when calling this method, blocking the calling thread for a file system call.
+     */
+    public static VertxAsyncRequestBody fromFile(Vertx vertx, String path) {
+        return fromFile(vertx, path, 0, vertx.fileSystem().propsBlocking(path).size());
+    }
+
+    /**
+     * {@code length} bytes of the file, starting at {@code position}.
+     */
+    public static VertxAsyncRequestBody fromFile(Vertx vertx, String path, long position, long length) {
+        return new VertxAsyncRequestBody(vertx, path, position, length, DEFAULT_READ_BUFFER_SIZE);
+    }
+
+    /**
+     * @param readBufferSize size of the chunks read from the file, see {@link AsyncFile#setReadBufferSize(int)}
+     */
+    public VertxAsyncRequestBody withReadBufferSize(int readBufferSize) {
+        return new VertxAsyncRequestBody(vertx, path, position, length, readBufferSize);
+    }
+
+    @Override
+    public Optional<Long> contentLength() {
+        return Optional.of(length);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> s) {
+        requireNonNull(s);
+        vertx.fileSystem().open(path, READ_ONLY, ar -> {
+            if (ar.failed()) {
+                s.onSubscribe(new Subscription() {
+                    @Override
+                    public void request(long n) {
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+                });
+                s.onError(ar.cause());
+                return;
+            }
+            final AsyncFile file = ar.result()
+                .setReadBufferSize(readBufferSize)
+                .setReadPos(position)
+                .setReadLength(length);
+            // the file is closed once read, failed or cancelled
+            final CompletableFuture<Void> done = new CompletableFuture<>();
+            done.whenComplete((v, err) -> file.close());
+            // AsyncFile emits a new buffer for every read, no need to copy them
+            new ReadStreamPublisher<>(file, done, false).subscribe(s);
+        });
+    }
+}
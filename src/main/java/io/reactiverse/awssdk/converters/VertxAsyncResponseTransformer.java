@@ -3,48 +3,135 @@ package io.reactiverse.awssdk.converters;
 import io.reactiverse.awssdk.reactivestreams.WriteStreamSubscriber;
 import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
 import io.vertx.core.streams.WriteStream;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.core.async.SdkPublisher;
 
 import java.nio.ByteBuffer;
-import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
+/**
+ * Writes the response body to a {@link WriteStream}, which is ended once the body has been written.
+ * <p>
+ * The SDK calls {@link #prepare()} again before retrying a request. If a previous attempt already wrote data, an
+ * {@link AsyncFile} is rewound to its write position of the first attempt, the retry of any other stream fails as the
+ * data can't be taken back.
+ */
 public class VertxAsyncResponseTransformer<ResponseT> implements AsyncResponseTransformer<ResponseT, WriteStream<Buffer>> {
 
-    private volatile CompletableFuture<WriteStream<Buffer>> cf;
-    private volatile WriteStream<Buffer> writeStream;
-    private volatile Optional<Handler<ResponseT>> responseHandler;
+    private final WriteStream<Buffer> writeStream;
+    private volatile Handler<ResponseT> responseHandler;
+    // replaced as a whole by prepare(), so that the late callbacks of a previous attempt only see their own state
+    private volatile Attempt attempt;
+    // only accessed by prepare(), which the SDK calls sequentially
+    private long initialWritePos = -1;
+    private boolean writtenBefore;
 
     public VertxAsyncResponseTransformer(WriteStream<Buffer> ws) {
         this.writeStream = ws;
-        responseHandler = Optional.empty();
     }
 
     @Override
     public CompletableFuture<WriteStream<Buffer>> prepare() {
-        cf = new CompletableFuture<>();
-        return cf;
+        final Attempt previous = attempt;
+        final Attempt next = new Attempt();
+        // from now on, the previous attempt can't write anymore
+        attempt = next;
+        final boolean previousWritten = previous != null && previous.written;
+        writtenBefore |= previousWritten;
+        if (writeStream instanceof AsyncFile) {
+            final AsyncFile file = (AsyncFile) writeStream;
+            if (initialWritePos < 0) {
+                initialWritePos = file.getWritePos();
+            } else if (previousWritten) {
+                file.setWritePos(initialWritePos);
+            }
+        } else if (writtenBefore) {
+            next.future.completeExceptionally(new IllegalStateException("Cannot retry the request: part of the response body has already been written to the stream"));
+        }
+        return next.future;
     }
 
     @Override
     public void onResponse(ResponseT response) {
-        this.responseHandler.ifPresent(handler -> handler.handle(response));
+        final Handler<ResponseT> handler = responseHandler;
+        if (handler != null) {
+            handler.handle(response);
+        }
     }
 
     @Override
     public void onStream(SdkPublisher<ByteBuffer> publisher) {
-        publisher.subscribe(new WriteStreamSubscriber<>(writeStream, cf));
+        final Attempt current = attempt;
+        if (current.future.isDone()) {
+            // the retry was refused by prepare(), the response is discarded
+            publisher.subscribe(new Subscriber<ByteBuffer>() {
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    subscription.cancel();
+                }
+
+                @Override
+                public void onNext(ByteBuffer byteBuffer) {
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+            return;
+        }
+        publisher.subscribe(new WriteStreamSubscriber<WriteStream<Buffer>>(writeStream, current.future) {
+            @Override
+            protected void write(ByteBuffer byteBuffer) {
+                // a retry owns the stream
+                if (attempt == current) {
+                    current.written = true;
+                    super.write(byteBuffer);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (attempt == current) {
+                    super.onComplete();
+                }
+            }
+
+            @Override
+            protected void failStream(Throwable t) {
+                // nothing written yet: the SDK may retry, the stream is left untouched
+                if (current.written && attempt == current) {
+                    super.failStream(t);
+                }
+            }
+        });
     }
 
     @Override
     public void exceptionOccurred(Throwable error) {
-        cf.completeExceptionally(error);
+        attempt.future.completeExceptionally(error);
     }
 
     public VertxAsyncResponseTransformer<ResponseT> setResponseHandler(Handler<ResponseT> handler) {
-        this.responseHandler = Optional.of(handler);
+        this.responseHandler = handler;
         return this;
     }
+
+    /**
+     * The state of one attempt of the request, from {@link #prepare()} on.
+     */
+    private static final class Attempt {
+
+        private final CompletableFuture<WriteStream<Buffer>> future = new CompletableFuture<>();
+        // whether this attempt wrote data to the stream
+        private volatile boolean written;
+    }
 }
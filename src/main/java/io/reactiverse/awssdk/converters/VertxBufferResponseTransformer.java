@@ -0,0 +1,117 @@
+package io.reactiverse.awssdk.converters;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.SdkPublisher;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Aggregates the response body in a Vert.x {@link Buffer}, a lighter alternative to {@link AsyncResponseTransformer#toBytes()}
+ * for small objects: the body chunks are not copied but gathered in a composite buffer (a single chunk is returned as is),
+ * and an empty body doesn't allocate anything.
+ * <p>
+ * The chunks are kept as published, which is safe with {@link io.reactiverse.awssdk.VertxNioAsyncHttpClient} as it never
+ * reuses them. When the response has a {@code Content-Length}, the length of the body is checked against it.
+ */
+public class VertxBufferResponseTransformer<ResponseT extends SdkResponse> implements AsyncResponseTransformer<ResponseT, Buffer> {
+
+    private volatile Handler<ResponseT> responseHandler;
+    private volatile Aggregation aggregation;
+
+    @Override
+    public CompletableFuture<Buffer> prepare() {
+        // a new state for every attempt, the SDK calls prepare() again before retrying
+        final Aggregation current = new Aggregation();
+        aggregation = current;
+        return current;
+    }
+
+    @Override
+    public void onResponse(ResponseT response) {
+        aggregation.expectedLength = response.sdkHttpResponse()
+            .firstMatchingHeader("Content-Length")
+            .map(Long::parseLong)
+            .orElse(-1L);
+        final Handler<ResponseT> handler = responseHandler;
+        if (handler != null) {
+            handler.handle(response);
+        }
+    }
+
+    @Override
+    public void onStream(SdkPublisher<ByteBuffer> publisher) {
+        publisher.subscribe(aggregation);
+    }
+
+    @Override
+    public void exceptionOccurred(Throwable error) {
+        aggregation.completeExceptionally(error);
+    }
+
+    public VertxBufferResponseTransformer<ResponseT> setResponseHandler(Handler<ResponseT> handler) {
+        this.responseHandler = handler;
+        return this;
+    }
+
+    /**
+     * The body of an attempt, chunks are emitted sequentially (rule 1.3).
+     */
+    private static final class Aggregation extends CompletableFuture<Buffer> implements Subscriber<ByteBuffer> {
+
+        private volatile long expectedLength = -1;
+        private long length;
+        private ByteBuf first;
+        private CompositeByteBuf composite;
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            // the body is aggregated anyway, no need to apply backpressure
+            s.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            if (!byteBuffer.hasRemaining()) {
+                return;
+            }
+            length += byteBuffer.remaining();
+            final ByteBuf chunk = Unpooled.wrappedBuffer(byteBuffer);
+            if (first == null) {
+                first = chunk;
+                return;
+            }
+            if (composite == null) {
+                // as many components as needed, so that chunks are never consolidated (copied) together
+                composite = Unpooled.compositeBuffer(Integer.MAX_VALUE);
+                composite.addComponent(true, first);
+            }
+            composite.addComponent(true, chunk);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (expectedLength >= 0 && length != expectedLength) {
+                completeExceptionally(new IOException("Received " + length + " bytes, the response Content-Length is " + expectedLength));
+            } else if (first == null) {
+                complete(Buffer.buffer());
+            } else {
+                complete(BufferConverter.wrap(composite != null ? composite : first));
+            }
+        }
+    }
+}
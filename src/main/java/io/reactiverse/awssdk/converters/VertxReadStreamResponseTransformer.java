@@ -0,0 +1,79 @@
+package io.reactiverse.awssdk.converters;
+
+import io.reactiverse.awssdk.reactivestreams.SubscriberReadStream;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.SdkPublisher;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Exposes the response body as a Vert.x {@link ReadStream}, e.g. to pipe an S3 object to an {@code HttpServerResponse}
+ * with backpressure and without aggregating it:
+ * <pre>{@code
+ * s3.getObject(req, new VertxReadStreamResponseTransformer<>(context))
+ *   .thenAccept(body -> body.pipeTo(response));
+ * }</pre>
+ * The future completes as soon as the response headers are received, the stream must then be consumed (or
+ * {@link SubscriberReadStream#cancel() cancelled}) to release the connection.
+ */
+public class VertxReadStreamResponseTransformer<ResponseT> implements AsyncResponseTransformer<ResponseT, ReadStream<Buffer>> {
+
+    private final Context context;
+    private final long window;
+    private volatile Handler<ResponseT> responseHandler;
+    private volatile CompletableFuture<ReadStream<Buffer>> cf;
+
+    /**
+     * @param context the context the stream emits on
+     */
+    public VertxReadStreamResponseTransformer(Context context) {
+        this(context, SubscriberReadStream.DEFAULT_WINDOW);
+    }
+
+    /**
+     * @param context the context the stream emits on
+     * @param window maximum number of body chunks received and not consumed yet
+     */
+    public VertxReadStreamResponseTransformer(Context context, long window) {
+        this.context = requireNonNull(context);
+        this.window = window;
+    }
+
+    @Override
+    public CompletableFuture<ReadStream<Buffer>> prepare() {
+        cf = new CompletableFuture<>();
+        return cf;
+    }
+
+    @Override
+    public void onResponse(ResponseT response) {
+        final Handler<ResponseT> handler = responseHandler;
+        if (handler != null) {
+            handler.handle(response);
+        }
+    }
+
+    @Override
+    public void onStream(SdkPublisher<ByteBuffer> publisher) {
+        final SubscriberReadStream stream = new SubscriberReadStream(context, window);
+        publisher.subscribe(stream);
+        cf.complete(stream);
+    }
+
+    @Override
+    public void exceptionOccurred(Throwable error) {
+        cf.completeExceptionally(error);
+    }
+
+    public VertxReadStreamResponseTransformer<ResponseT> setResponseHandler(Handler<ResponseT> handler) {
+        this.responseHandler = handler;
+        return this;
+    }
+}
@@ -0,0 +1,63 @@
+package io.reactiverse.awssdk.dns;
+
+import io.vertx.core.dns.DnsClientOptions;
+
+import java.time.Duration;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Options of {@link VertxDnsCache}.
+ */
+public class DnsCacheOptions {
+
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(30);
+    public static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(10);
+
+    private Duration ttl = DEFAULT_TTL;
+    private Duration negativeTtl = DEFAULT_NEGATIVE_TTL;
+    private DnsClientOptions dnsClientOptions = new DnsClientOptions();
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * How long resolved addresses are used before being resolved again. Expired addresses are still used while they are
+     * resolved again in the background.
+     */
+    public DnsCacheOptions setTtl(Duration ttl) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive: " + ttl);
+        }
+        this.ttl = ttl;
+        return this;
+    }
+
+    public Duration getNegativeTtl() {
+        return negativeTtl;
+    }
+
+    /**
+     * How long a host that could not be resolved is not looked up again, its requests being resolved by Vert.x meanwhile.
+     */
+    public DnsCacheOptions setNegativeTtl(Duration negativeTtl) {
+        if (negativeTtl.isNegative()) {
+            throw new IllegalArgumentException("negativeTtl must not be negative: " + negativeTtl);
+        }
+        this.negativeTtl = negativeTtl;
+        return this;
+    }
+
+    public DnsClientOptions getDnsClientOptions() {
+        return dnsClientOptions;
+    }
+
+    /**
+     * Options of the Vert.x DNS client, by default the first name server configured on the host is used.
+     */
+    public DnsCacheOptions setDnsClientOptions(DnsClientOptions dnsClientOptions) {
+        this.dnsClientOptions = requireNonNull(dnsClientOptions);
+        return this;
+    }
+}
@@ -0,0 +1,137 @@
+package io.reactiverse.awssdk.dns;
+
+import io.netty.util.NetUtil;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.dns.DnsClient;
+import io.vertx.core.net.SocketAddress;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolves the hosts of AWS endpoints with the Vert.x DNS client and caches their addresses, so that requests never wait
+ * for a DNS resolution.
+ * <p>
+ * {@link #address(String, int)} only reads the cache: the first requests to a host are resolved by Vert.x as usual while
+ * the host is resolved in the background, expired addresses are still used while the host is resolved again. The
+ * addresses of a host are used in turn, spreading connections over all of them.
+ * <p>
+ * The Vert.x DNS client does not expose the TTL of the records, addresses are kept for {@link DnsCacheOptions#getTtl()}.
+ * A cache can be shared by the clients of a Vert.x instance.
+ */
+public class VertxDnsCache implements SdkAutoCloseable {
+
+    private final DnsClient dnsClient;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Future<Void>> resolutions = new ConcurrentHashMap<>();
+
+    public VertxDnsCache(Vertx vertx) {
+        this(vertx, new DnsCacheOptions());
+    }
+
+    public VertxDnsCache(Vertx vertx, DnsCacheOptions options) {
+        this(vertx.createDnsClient(options.getDnsClientOptions()), options);
+    }
+
+    VertxDnsCache(DnsClient dnsClient, DnsCacheOptions options) {
+        this.dnsClient = dnsClient;
+        this.ttlNanos = options.getTtl().toNanos();
+        this.negativeTtlNanos = options.getNegativeTtl().toNanos();
+    }
+
+    /**
+     * @return the next cached address of the host, {@code null} if the host is an IP address, is not resolved yet or
+     * could not be resolved
+     */
+    public SocketAddress address(String host, int port) {
+        final Entry entry = entries.get(host);
+        if (entry == null) {
+            resolve(host);
+            return null;
+        }
+        if (System.nanoTime() - entry.deadline > 0) {
+            resolve(host);
+        }
+        return entry.next(port);
+    }
+
+    /**
+     * Resolves a host, e.g. ahead of its first requests. Resolutions of the same host are not run concurrently.
+     *
+     * @return completed once the addresses of the host are cached (right away for IP addresses, which are not cached),
+     * failed if it could not be resolved
+     */
+    public Future<Void> resolve(String host) {
+        if (NetUtil.isValidIpV4Address(host) || NetUtil.isValidIpV6Address(host)) {
+            return Future.succeededFuture();
+        }
+        final Promise<Void> resolved = Promise.promise();
+        final Future<Void> running = resolutions.putIfAbsent(host, resolved.future());
+        if (running != null) {
+            return running;
+        }
+        dnsClient.resolveA(host).onComplete(ar -> {
+            if (ar.succeeded() && !ar.result().isEmpty()) {
+                entries.put(host, new Entry(ar.result(), System.nanoTime() + ttlNanos));
+            } else {
+                final Entry previous = entries.get(host);
+                // the previous addresses are more likely to work than nothing, they are kept until the next attempt
+                entries.put(host, new Entry(previous == null ? null : previous.addresses, System.nanoTime() + negativeTtlNanos));
+            }
+            resolutions.remove(host);
+            if (ar.failed()) {
+                resolved.fail(ar.cause());
+            } else if (ar.result().isEmpty()) {
+                resolved.fail("No address found for " + host);
+            } else {
+                resolved.complete();
+            }
+        });
+        return resolved.future();
+    }
+
+    @Override
+    public void close() {
+        dnsClient.close();
+    }
+
+    private static final class Entry {
+
+        private final List<String> addresses;
+        private final long deadline;
+        private final AtomicInteger next = new AtomicInteger();
+        // the addresses for the port of the last request, an endpoint almost always has a single port
+        private volatile SocketAddress[] socketAddresses;
+
+        /**
+         * @param addresses {@code null} for a host that could not be resolved
+         * @param deadline {@link System#nanoTime()} after which the host is resolved again
+         */
+        private Entry(List<String> addresses, long deadline) {
+            this.addresses = addresses;
+            this.deadline = deadline;
+        }
+
+        private SocketAddress next(int port) {
+            if (addresses == null) {
+                return null;
+            }
+            SocketAddress[] resolved = socketAddresses;
+            if (resolved == null || resolved[0].port() != port) {
+                resolved = new SocketAddress[addresses.size()];
+                for (int i = 0; i < resolved.length; i++) {
+                    resolved[i] = SocketAddress.inetSocketAddress(port, addresses.get(i));
+                }
+                socketAddresses = resolved;
+            }
+            return resolved[Math.floorMod(next.getAndIncrement(), resolved.length)];
+        }
+    }
+}
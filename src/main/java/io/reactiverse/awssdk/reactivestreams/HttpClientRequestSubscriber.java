@@ -1,23 +1,150 @@
 package io.reactiverse.awssdk.reactivestreams;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.reactiverse.awssdk.converters.BufferConverter;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpHeaders;
 
 import java.nio.ByteBuffer;
 
+/**
+ * Writes a request body to a Vert.x {@link HttpClientRequest}.
+ * When a {@code coalesceSize} is set, chunks smaller than that size are gathered into pooled direct buffers and written
+ * once the buffer is full, or at the latest once the current event-loop task is over, so that many small SDK chunks
+ * end up in few socket writes. Larger chunks are written as they come, without copy, as well as the chunk completing a
+ * body of known {@code Content-Length} when nothing is gathered: a body published as a single buffer is written right
+ * away, without copy.
+ */
 public class HttpClientRequestSubscriber extends WriteStreamSubscriber<HttpClientRequest> {
 
+    public static final int DEFAULT_COALESCE_SIZE = 16 * 1024;
+
+    private final int coalesceSize;
+    private final Context context;
+    private ByteBuf pending;
+    // bytes of the body still to come, -1 if the body size is unknown
+    private long remaining;
+
     public HttpClientRequestSubscriber(HttpClientRequest request) {
-        super(request);
+        this(request, BUFF_SIZE, 0);
+    }
+
+    public HttpClientRequestSubscriber(HttpClientRequest request, long prefetch) {
+        this(request, prefetch, 0);
+    }
+
+    /**
+     * @param coalesceSize size of the pooled buffers small chunks are gathered in, {@code 0} disables coalescing.
+     *                     Coalescing also requires the subscriber to be created on a Vert.x context.
+     */
+    public HttpClientRequestSubscriber(HttpClientRequest request, long prefetch, int coalesceSize) {
+        super(request, prefetch);
+        this.coalesceSize = coalesceSize;
+        this.context = Vertx.currentContext();
+        this.remaining = contentLength(request);
+    }
+
+    private static long contentLength(HttpClientRequest request) {
+        final String contentLength = request.headers().get(HttpHeaders.CONTENT_LENGTH);
+        if (contentLength == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentLength);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
     }
 
     @Override
     public void onNext(ByteBuffer byteBuffer) {
-        if (!stream.isChunked() && !stream.headers().contains(HttpHeaders.CONTENT_LENGTH) && byteBuffer.array().length != 0) {
+        if (!stream.isChunked() && !stream.headers().contains(HttpHeaders.CONTENT_LENGTH) && byteBuffer.hasRemaining()) {
             stream.setChunked(true);
         }
         super.onNext(byteBuffer);
     }
 
-}
+    @Override
+    protected void write(ByteBuffer byteBuffer) {
+        if (coalesceSize <= 0 || context == null) {
+            super.write(byteBuffer);
+            return;
+        }
+        synchronized (this) {
+            final int size = byteBuffer.remaining();
+            final boolean last = remaining >= 0 && (remaining -= size) <= 0;
+            if (pending != null && pending.writableBytes() < size) {
+                flushPending();
+            }
+            if (last) {
+                // nothing to wait for: the chunk is gathered with what is pending, if any, and written
+                if (pending != null) {
+                    pending.writeBytes(byteBuffer);
+                    flushPending();
+                } else {
+                    super.write(byteBuffer);
+                }
+                return;
+            }
+            if (size >= coalesceSize) {
+                flushPending();
+                super.write(byteBuffer);
+                return;
+            }
+            if (pending == null) {
+                pending = PooledByteBufAllocator.DEFAULT.directBuffer(coalesceSize, coalesceSize);
+                // whatever has been gathered by the end of the current task is written
+                context.runOnContext(v -> {
+                    synchronized (this) {
+                        flushPending();
+                    }
+                });
+            }
+            pending.writeBytes(byteBuffer);
+        }
+    }
 
+    @Override
+    public void onError(Throwable t) {
+        synchronized (this) {
+            if (pending != null) {
+                pending.release();
+                pending = null;
+            }
+        }
+        super.onError(t);
+    }
+
+    /**
+     * The request is reset, otherwise it would wait forever for the rest of its body while holding its connection.
+     */
+    @Override
+    protected void failStream(Throwable t) {
+        stream.reset(0, t);
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (this) {
+            flushPending();
+        }
+        super.onComplete();
+    }
+
+    private void flushPending() {
+        final ByteBuf buf = pending;
+        if (buf == null) {
+            return;
+        }
+        pending = null;
+        // the pooled buffer must not be released by Netty while Vert.x still references it: release it ourselves
+        // once the write has completed
+        stream.write(BufferConverter.wrap(Unpooled.unreleasableBuffer(buf)))
+          .onComplete(ar -> buf.release());
+    }
+
+}
@@ -1,6 +1,10 @@
 package io.reactiverse.awssdk.reactivestreams;
 
+import io.reactiverse.awssdk.converters.BufferConverter;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientResponse;
 import io.vertx.core.streams.ReadStream;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
@@ -9,43 +13,175 @@ import org.reactivestreams.Subscription;
 import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
 
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Publishes a Vert.x {@link ReadStream} as a reactive-streams {@link Publisher}.
+ * The stream is paused until the subscriber signals demand, and cancelling the subscription stops the stream
+ * (resetting the underlying connection in case of an {@link HttpClientResponse}).
+ * Only one subscriber is supported.
+ */
 public class ReadStreamPublisher<T extends Buffer> implements Publisher<ByteBuffer> {
 
     private ReadStream<T> stream;
     private CompletableFuture<Void> future;
+    private final boolean copyBuffers;
+    private boolean subscribed;
 
     public ReadStreamPublisher(ReadStream<T> readStream) {
         this(readStream, null);
     }
 
     public ReadStreamPublisher(ReadStream<T> readStream, CompletableFuture<Void> future) {
+        this(readStream, future, true);
+    }
+
+    /**
+     * @param readStream the stream to publish
+     * @param future completed once the stream has ended or the subscription has been cancelled, can be {@code null}
+     * @param copyBuffers if {@code false}, subscribers receive {@link ByteBuffer} views over the memory of the emitted
+     *                    {@link Buffer}s instead of copies. Only use it with streams that never reuse a buffer once
+     *                    emitted (like {@code HttpClientResponse} or {@code AsyncFile}): Vert.x already hands such
+     *                    streams unpooled heap buffers, so there is no reference count to release and the view stays
+     *                    valid for as long as the subscriber holds it.
+     */
+    public ReadStreamPublisher(ReadStream<T> readStream, CompletableFuture<Void> future, boolean copyBuffers) {
         this.stream = readStream;
         this.future = future;
+        this.copyBuffers = copyBuffers;
     }
 
     @Override
     public void subscribe(Subscriber<? super ByteBuffer> s) {
-        s.onSubscribe(new Subscription() {
-            @Override
-            public void request(long n) {
-                stream.fetch(n);
+        requireNonNull(s);
+        synchronized (this) {
+            if (subscribed) {
+                s.onSubscribe(CANCELLED);
+                s.onError(new IllegalStateException("ReadStreamPublisher only supports a single subscriber"));
+                return;
             }
+            subscribed = true;
+        }
+        // nothing must be emitted before the subscriber has requested it
+        stream.pause();
+        final StreamSubscription subscription = new StreamSubscription(s, Vertx.currentContext());
+        stream.endHandler(v -> subscription.complete());
+        stream.handler(subscription::next);
+        stream.exceptionHandler(subscription::fail);
+        s.onSubscribe(subscription);
+    }
+
+    private ByteBuffer toByteBuffer(T buff) {
+        if (copyBuffers) {
+            return ByteBuffer.wrap(buff.getBytes());
+        }
+        // the slice shares the buffer memory: nioBuffer() exposes it without copying
+        return BufferConverter.byteBuf(buff).nioBuffer();
+    }
+
+    private final class StreamSubscription implements Subscription {
 
-            @Override
-            public void cancel() {
-                // Cannot really do anything on the stream
-                // stream.pause() maybe ?
+        private final Subscriber<? super ByteBuffer> subscriber;
+        private final Context context;
+        // demand is only accessed from the stream context
+        private long demand;
+        private volatile boolean done;
+
+        private StreamSubscription(Subscriber<? super ByteBuffer> subscriber, Context context) {
+            this.subscriber = subscriber;
+            this.context = context;
+        }
+
+        @Override
+        public void request(long n) {
+            if (done) {
+                return;
+            }
+            if (n <= 0) {
+                onContext(() -> fail(new IllegalArgumentException("Subscription.request(n) requires n > 0 (reactive-streams rule 3.9), got " + n)));
+                return;
             }
-        });
-        stream.endHandler(v -> {
-            s.onComplete();
+            onContext(() -> {
+                if (done || demand == Long.MAX_VALUE) {
+                    return;
+                }
+                demand += n;
+                if (demand < 0 || demand == Long.MAX_VALUE) {
+                    // unbounded demand: let the stream flow
+                    demand = Long.MAX_VALUE;
+                    stream.resume();
+                } else {
+                    stream.fetch(n);
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            if (done) {
+                return;
+            }
+            done = true;
+            onContext(() -> {
+                stream.pause();
+                if (stream instanceof HttpClientResponse) {
+                    // stop the transfer: the connection cannot be reused with a partially read body
+                    ((HttpClientResponse) stream).request().reset();
+                }
+                if (future != null) {
+                    future.complete(null);
+                }
+            });
+        }
+
+        private void next(T buff) {
+            if (done) {
+                return;
+            }
+            if (demand != Long.MAX_VALUE) {
+                demand--;
+            }
+            subscriber.onNext(toByteBuffer(buff));
+        }
+
+        private void complete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            subscriber.onComplete();
             if (future != null) {
                 future.complete(null);
             }
-        });
-        stream.handler(buff ->
-                s.onNext(ByteBuffer.wrap(buff.getBytes()))
-        );
-        stream.exceptionHandler(s::onError);
+        }
+
+        private void fail(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            subscriber.onError(t);
+            if (future != null) {
+                future.completeExceptionally(t);
+            }
+        }
+
+        private void onContext(Runnable action) {
+            if (context == null || Vertx.currentContext() == context) {
+                action.run();
+            } else {
+                context.runOnContext(v -> action.run());
+            }
+        }
     }
+
+    private static final Subscription CANCELLED = new Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
 }
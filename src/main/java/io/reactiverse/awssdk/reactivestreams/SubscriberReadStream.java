@@ -0,0 +1,222 @@
+package io.reactiverse.awssdk.reactivestreams;
+
+import io.reactiverse.awssdk.converters.BufferConverter;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Exposes the {@link ByteBuffer}s of a publisher as a Vert.x {@link ReadStream}, emitting on the given context.
+ * <p>
+ * Nothing is requested from the publisher until a handler is set. Then, no more than {@code window} items are requested
+ * ahead of what the handler consumed, so that pausing the stream (e.g. when piped to a slow {@code HttpServerResponse})
+ * applies backpressure all the way up to the publisher.
+ * Buffers wrap the published {@link ByteBuffer}s without copy.
+ */
+public class SubscriberReadStream implements Subscriber<ByteBuffer>, ReadStream<Buffer> {
+
+    public static final long DEFAULT_WINDOW = 16;
+
+    private final Context context;
+    private final long window;
+    // the state below is only accessed from the context
+    private final ArrayDeque<Buffer> pending = new ArrayDeque<>();
+    private volatile Subscription subscription;
+    private Handler<Buffer> handler;
+    private Handler<Throwable> exceptionHandler;
+    private Handler<Void> endHandler;
+    // items the handler accepts, Long.MAX_VALUE while flowing
+    private long demand = Long.MAX_VALUE;
+    private boolean emitting;
+    private boolean started;
+    private boolean completed;
+    private boolean terminated;
+
+    public SubscriberReadStream(Context context) {
+        this(context, DEFAULT_WINDOW);
+    }
+
+    /**
+     * @param context the context handlers are called on
+     * @param window maximum number of items requested from the publisher and not consumed yet
+     */
+    public SubscriberReadStream(Context context, long window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("window must be > 0, got " + window);
+        }
+        this.context = requireNonNull(context);
+        this.window = window;
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        requireNonNull(s);
+        if (subscription != null) {
+            s.cancel();
+            return;
+        }
+        subscription = s;
+        onContext(this::start);
+    }
+
+    @Override
+    public void onNext(ByteBuffer byteBuffer) {
+        final Buffer buffer = BufferConverter.wrap(byteBuffer);
+        onContext(() -> {
+            if (!terminated) {
+                pending.add(buffer);
+                drain();
+            }
+        });
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        onContext(() -> {
+            if (terminated) {
+                return;
+            }
+            terminated = true;
+            pending.clear();
+            final Handler<Throwable> handler = exceptionHandler;
+            if (handler != null) {
+                handler.handle(t);
+            }
+        });
+    }
+
+    @Override
+    public void onComplete() {
+        onContext(() -> {
+            completed = true;
+            drain();
+        });
+    }
+
+    @Override
+    public SubscriberReadStream exceptionHandler(Handler<Throwable> handler) {
+        this.exceptionHandler = handler;
+        return this;
+    }
+
+    @Override
+    public SubscriberReadStream handler(Handler<Buffer> handler) {
+        this.handler = handler;
+        if (handler != null) {
+            start();
+            drain();
+        }
+        return this;
+    }
+
+    @Override
+    public SubscriberReadStream pause() {
+        demand = 0;
+        return this;
+    }
+
+    @Override
+    public SubscriberReadStream resume() {
+        return fetch(Long.MAX_VALUE);
+    }
+
+    @Override
+    public SubscriberReadStream fetch(long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("amount must be >= 0, got " + amount);
+        }
+        demand += amount;
+        if (demand < 0) {
+            demand = Long.MAX_VALUE;
+        }
+        onContext(this::drain);
+        return this;
+    }
+
+    @Override
+    public SubscriberReadStream endHandler(Handler<Void> endHandler) {
+        this.endHandler = endHandler;
+        return this;
+    }
+
+    /**
+     * Stops the stream and cancels the subscription, e.g. when the destination of the stream has failed.
+     * No more handler is called.
+     */
+    public void cancel() {
+        onContext(() -> {
+            if (terminated) {
+                return;
+            }
+            terminated = true;
+            pending.clear();
+            final Subscription s = subscription;
+            if (s != null) {
+                s.cancel();
+            }
+        });
+    }
+
+    private void start() {
+        if (!started && !terminated && subscription != null && handler != null) {
+            started = true;
+            subscription.request(window);
+        }
+    }
+
+    /**
+     * Emits the pending items the handler accepts, then ends the stream once the publisher has completed and every item
+     * has been emitted. Handlers calling {@link #fetch(long)} don't re-enter the loop, which emits what they asked for.
+     */
+    private void drain() {
+        if (emitting) {
+            return;
+        }
+        emitting = true;
+        try {
+            Handler<Buffer> h;
+            while (!terminated && demand > 0 && (h = handler) != null && !pending.isEmpty()) {
+                if (demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+                final Buffer buffer = pending.poll();
+                // an item is consumed, another one can be requested
+                subscription.request(1);
+                h.handle(buffer);
+            }
+        } finally {
+            emitting = false;
+        }
+        if (completed && pending.isEmpty()) {
+            end();
+        }
+    }
+
+    private void end() {
+        if (terminated) {
+            return;
+        }
+        terminated = true;
+        final Handler<Void> handler = endHandler;
+        if (handler != null) {
+            handler.handle(null);
+        }
+    }
+
+    private void onContext(Runnable action) {
+        if (Vertx.currentContext() == context) {
+            action.run();
+        } else {
+            context.runOnContext(v -> action.run());
+        }
+    }
+}
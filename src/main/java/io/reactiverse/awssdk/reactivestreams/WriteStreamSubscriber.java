@@ -1,57 +1,149 @@
 package io.reactiverse.awssdk.reactivestreams;
 
-import io.netty.buffer.Unpooled;
+import io.reactiverse.awssdk.converters.BufferConverter;
+import io.vertx.core.Future;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.streams.WriteStream;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
 import java.nio.ByteBuffer;
-import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Writes the {@link ByteBuffer}s of a publisher to a Vert.x {@link WriteStream}.
+ * At most {@code prefetch} items are requested ahead, and no more items are requested while
+ * {@link WriteStream#writeQueueFull()} until the stream drains.
+ * The optional future is completed once the stream has ended, or failed along with the publisher.
+ */
 public class WriteStreamSubscriber<T extends WriteStream<Buffer>> implements Subscriber<ByteBuffer> {
 
     protected static final long BUFF_SIZE = 1024;
 
     protected T stream;
+    private final long prefetch;
+    private final long refillThreshold;
+    // items requested from the subscription and not received yet
+    private final AtomicLong outstanding = new AtomicLong();
+    private final AtomicBoolean waitingForDrain = new AtomicBoolean();
     private Subscription subscription;
-    private Optional<CompletableFuture<WriteStream<Buffer>>> cf;
+    private final CompletableFuture<WriteStream<Buffer>> cf;
 
     public WriteStreamSubscriber(T stream) {
+        this(stream, BUFF_SIZE);
+    }
+
+    public WriteStreamSubscriber(T stream, long prefetch) {
         this.stream = stream;
-        cf = Optional.empty();
+        this.prefetch = checkPrefetch(prefetch);
+        this.refillThreshold = Math.max(1, prefetch / 2);
+        this.cf = null;
     }
 
     public WriteStreamSubscriber(T stream, CompletableFuture<WriteStream<Buffer>> cf) {
+        this(stream, cf, BUFF_SIZE);
+    }
+
+    public WriteStreamSubscriber(T stream, CompletableFuture<WriteStream<Buffer>> cf, long prefetch) {
         this.stream = stream;
-        this.cf = Optional.of(cf);
+        this.prefetch = checkPrefetch(prefetch);
+        this.refillThreshold = Math.max(1, prefetch / 2);
+        this.cf = cf;
     }
 
     @Override
     public void onSubscribe(Subscription subscription) {
         this.subscription = subscription;
-        subscription.request(BUFF_SIZE);
+        outstanding.set(prefetch);
+        subscription.request(prefetch);
     }
 
     @Override
     public void onNext(ByteBuffer byteBuffer) {
+        outstanding.decrementAndGet();
         if (byteBuffer.hasRemaining()) {
-            Buffer buffer = Buffer.buffer(Unpooled.wrappedBuffer(byteBuffer));
-            stream.write(buffer);
+            write(byteBuffer);
+        }
+        if (!stream.writeQueueFull()) {
+            requestMore();
+        } else if (waitingForDrain.compareAndSet(false, true)) {
+            stream.drainHandler(v -> resume());
+            // the queue may have drained before the handler was set
+            if (!stream.writeQueueFull()) {
+                resume();
+            }
         }
-        subscription.request(BUFF_SIZE);
     }
 
     @Override
     public void onError(Throwable t) {
-        subscription.cancel();
+        // the subscription is already over (rule 2.4), only the stream and the future are left to fail
+        failStream(t);
+        if (cf != null) {
+            cf.completeExceptionally(t);
+        }
     }
 
-
     @Override
     public void onComplete() {
-        stream.end();
-        cf.map(fut -> fut.complete(stream));
+        final Future<Void> end = stream.end();
+        if (cf != null) {
+            end.onComplete(ar -> {
+                if (ar.succeeded()) {
+                    cf.complete(stream);
+                } else {
+                    cf.completeExceptionally(ar.cause());
+                }
+            });
+        }
+    }
+
+    /**
+     * Signals the stream that no more data will come, as there is no generic way to fail a {@link WriteStream}:
+     * an {@link HttpServerResponse} is reset so that the client doesn't take a truncated body for a complete one.
+     */
+    protected void failStream(Throwable t) {
+        if (stream instanceof HttpServerResponse) {
+            ((HttpServerResponse) stream).reset();
+        }
+    }
+
+    /**
+     * Writes a non-empty buffer to the stream, wrapping it without copy.
+     */
+    protected void write(ByteBuffer byteBuffer) {
+        stream.write(BufferConverter.wrap(byteBuffer));
+    }
+
+    private void resume() {
+        if (waitingForDrain.compareAndSet(true, false)) {
+            requestMore();
+        }
+    }
+
+    /**
+     * Tops up the demand to {@code prefetch} once at least half of it has been consumed.
+     */
+    private void requestMore() {
+        long current;
+        long missing;
+        do {
+            current = outstanding.get();
+            missing = prefetch - current;
+            if (missing < refillThreshold) {
+                return;
+            }
+        } while (!outstanding.compareAndSet(current, prefetch));
+        subscription.request(missing);
+    }
+
+    private static long checkPrefetch(long prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be > 0, got " + prefetch);
+        }
+        return prefetch;
     }
 }
@@ -0,0 +1,86 @@
+package io.reactiverse.awssdk.s3;
+
+/**
+ * Options of {@link VertxS3MultipartUploader}.
+ */
+public class MultipartUploadOptions {
+
+    /**
+     * S3 minimum size of every part but the last one.
+     */
+    public static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+    public static final long DEFAULT_PART_SIZE = 8L * 1024 * 1024;
+    public static final int DEFAULT_CONCURRENCY = 4;
+    public static final int DEFAULT_MAX_PART_ATTEMPTS = 3;
+
+    private long partSize = DEFAULT_PART_SIZE;
+    private int concurrency = DEFAULT_CONCURRENCY;
+    private int maxPartAttempts = DEFAULT_MAX_PART_ATTEMPTS;
+    private int bufferPoolSize = -1;
+
+    public long getPartSize() {
+        return partSize;
+    }
+
+    /**
+     * Size of the parts, at least {@link #MIN_PART_SIZE}. When uploading a {@code ReadStream}, it is also the size of the
+     * buffers of the pool.
+     */
+    public MultipartUploadOptions setPartSize(long partSize) {
+        if (partSize < MIN_PART_SIZE || partSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("partSize must be between " + MIN_PART_SIZE + " and " + Integer.MAX_VALUE + ": " + partSize);
+        }
+        this.partSize = partSize;
+        return this;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Maximum number of parts uploaded at the same time, size the connection pool of the HTTP client accordingly.
+     */
+    public MultipartUploadOptions setConcurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be positive: " + concurrency);
+        }
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    public int getMaxPartAttempts() {
+        return maxPartAttempts;
+    }
+
+    /**
+     * How many times a part is sent before failing the upload, on top of the SDK retries of each request.
+     */
+    public MultipartUploadOptions setMaxPartAttempts(int maxPartAttempts) {
+        if (maxPartAttempts < 1) {
+            throw new IllegalArgumentException("maxPartAttempts must be positive: " + maxPartAttempts);
+        }
+        this.maxPartAttempts = maxPartAttempts;
+        return this;
+    }
+
+    /**
+     * @return the number of part buffers, {@code concurrency + 1} unless set
+     */
+    public int getBufferPoolSize() {
+        return bufferPoolSize > 0 ? bufferPoolSize : concurrency + 1;
+    }
+
+    /**
+     * Number of part buffers used when uploading a {@code ReadStream}: memory usage is bounded by
+     * {@code bufferPoolSize * partSize}, the stream is paused while no buffer is available.
+     * Files are read directly from disk and don't use any buffer.
+     */
+    public MultipartUploadOptions setBufferPoolSize(int bufferPoolSize) {
+        if (bufferPoolSize < 1) {
+            throw new IllegalArgumentException("bufferPoolSize must be positive: " + bufferPoolSize);
+        }
+        this.bufferPoolSize = bufferPoolSize;
+        return this;
+    }
+}
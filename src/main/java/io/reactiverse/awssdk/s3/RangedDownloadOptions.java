@@ -0,0 +1,61 @@
+package io.reactiverse.awssdk.s3;
+
+/**
+ * Options of {@link VertxS3RangedDownloader}.
+ */
+public class RangedDownloadOptions {
+
+    public static final long DEFAULT_RANGE_SIZE = 8L * 1024 * 1024;
+    public static final int DEFAULT_CONCURRENCY = 4;
+    public static final int DEFAULT_MAX_RANGE_ATTEMPTS = 3;
+
+    private long rangeSize = DEFAULT_RANGE_SIZE;
+    private int concurrency = DEFAULT_CONCURRENCY;
+    private int maxRangeAttempts = DEFAULT_MAX_RANGE_ATTEMPTS;
+
+    public long getRangeSize() {
+        return rangeSize;
+    }
+
+    /**
+     * Size of the ranges requested by each GET. When downloading to a sequential stream, ranges are held in memory until
+     * written, memory usage is bounded by {@code concurrency * rangeSize}.
+     */
+    public RangedDownloadOptions setRangeSize(long rangeSize) {
+        if (rangeSize < 1 || rangeSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("rangeSize must be between 1 and " + Integer.MAX_VALUE + ": " + rangeSize);
+        }
+        this.rangeSize = rangeSize;
+        return this;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Maximum number of ranges downloaded at the same time, size the connection pool of the HTTP client accordingly.
+     */
+    public RangedDownloadOptions setConcurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be positive: " + concurrency);
+        }
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    public int getMaxRangeAttempts() {
+        return maxRangeAttempts;
+    }
+
+    /**
+     * How many times a range is requested before failing the download, on top of the SDK retries of each request.
+     */
+    public RangedDownloadOptions setMaxRangeAttempts(int maxRangeAttempts) {
+        if (maxRangeAttempts < 1) {
+            throw new IllegalArgumentException("maxRangeAttempts must be positive: " + maxRangeAttempts);
+        }
+        this.maxRangeAttempts = maxRangeAttempts;
+        return this;
+    }
+}
@@ -0,0 +1,419 @@
+package io.reactiverse.awssdk.s3;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.reactiverse.awssdk.converters.BufferConverter;
+import io.reactiverse.awssdk.converters.VertxAsyncRequestBody;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Uploads files or streams to S3 with multipart uploads, sending several parts at the same time over the connections of
+ * the S3 client.
+ * <p>
+ * Failed parts are sent again on their own, up to {@link MultipartUploadOptions#getMaxPartAttempts()} times. If a part
+ * still fails, the upload is aborted once the other parts are over, and the returned future is failed. The upload is
+ * aborted as well when it can't be completed.
+ * <p>
+ * All the upload bookkeeping happens on the context calling {@code upload}, the S3 client can be bound to any context.
+ * Requires {@code software.amazon.awssdk:s3} on the classpath.
+ */
+public class VertxS3MultipartUploader {
+
+    /**
+     * S3 maximum number of parts of an upload.
+     */
+    public static final int MAX_PARTS = 10_000;
+
+    private final Vertx vertx;
+    private final S3AsyncClient s3;
+    private final MultipartUploadOptions options;
+
+    public VertxS3MultipartUploader(Vertx vertx, S3AsyncClient s3) {
+        this(vertx, s3, new MultipartUploadOptions());
+    }
+
+    public VertxS3MultipartUploader(Vertx vertx, S3AsyncClient s3, MultipartUploadOptions options) {
+        this.vertx = requireNonNull(vertx);
+        this.s3 = requireNonNull(s3);
+        this.options = requireNonNull(options);
+    }
+
+    /**
+     * Uploads a file, each part being read from disk by the request sending it.
+     * Fails without creating the upload if the file needs more than {@link #MAX_PARTS} parts.
+     */
+    public Future<CompleteMultipartUploadResponse> upload(CreateMultipartUploadRequest request, String path) {
+        final Context context = vertx.getOrCreateContext();
+        return vertx.fileSystem().props(path)
+            .compose(props -> {
+                final long partCount = (props.size() + options.getPartSize() - 1) / options.getPartSize();
+                if (partCount > MAX_PARTS) {
+                    return Future.failedFuture(new IllegalArgumentException("A " + props.size() + " bytes file needs "
+                        + partCount + " parts of " + options.getPartSize() + " bytes, S3 accepts at most " + MAX_PARTS));
+                }
+                return new FileUpload(context, request, path, props.size()).run();
+            });
+    }
+
+    /**
+     * Uploads a stream, sliced into parts in the buffers of a bounded pool.
+     * The upload fails (and is aborted) if the stream needs more than {@link #MAX_PARTS} parts.
+     */
+    public Future<CompleteMultipartUploadResponse> upload(CreateMultipartUploadRequest request, ReadStream<Buffer> source) {
+        final Context context = vertx.getOrCreateContext();
+        return new StreamUpload(context, request, source).run();
+    }
+
+    /**
+     * State of an upload, only accessed from its context.
+     */
+    private abstract class Upload {
+
+        final Context context;
+        final CreateMultipartUploadRequest request;
+        final List<CompletedPart> completedParts = new ArrayList<>();
+        final Promise<Void> partsUploaded = Promise.promise();
+        String uploadId;
+        int inFlight;
+        Throwable failure;
+
+        Upload(Context context, CreateMultipartUploadRequest request) {
+            this.context = context;
+            this.request = requireNonNull(request);
+        }
+
+        Future<CompleteMultipartUploadResponse> run() {
+            return fromSdk(s3.createMultipartUpload(request))
+                .compose(res -> {
+                    uploadId = res.uploadId();
+                    start();
+                    return partsUploaded.future().compose(v -> complete());
+                })
+                // once created, the upload must be aborted whatever fails, or S3 keeps (and bills) its parts
+                .recover(err -> uploadId == null ? Future.failedFuture(err) : abort(err));
+        }
+
+        /**
+         * Starts sending parts, {@link #checkDone(boolean)} must be called whenever a part is over.
+         */
+        abstract void start();
+
+        void uploadPart(int partNumber, long length, Supplier<AsyncRequestBody> body, Runnable onPartDone) {
+            inFlight++;
+            uploadPart(partNumber, length, body, 1).onComplete(ar -> {
+                inFlight--;
+                if (ar.succeeded()) {
+                    completedParts.add(ar.result());
+                } else {
+                    fail(ar.cause());
+                }
+                onPartDone.run();
+            });
+        }
+
+        private Future<CompletedPart> uploadPart(int partNumber, long length, Supplier<AsyncRequestBody> body, int attempt) {
+            final UploadPartRequest partRequest = UploadPartRequest.builder()
+                .bucket(request.bucket())
+                .key(request.key())
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .contentLength(length)
+                .sseCustomerAlgorithm(request.sseCustomerAlgorithm())
+                .sseCustomerKey(request.sseCustomerKey())
+                .sseCustomerKeyMD5(request.sseCustomerKeyMD5())
+                .requestPayer(request.requestPayer())
+                .expectedBucketOwner(request.expectedBucketOwner())
+                .build();
+            return fromSdk(s3.uploadPart(partRequest, body.get()))
+                .map(res -> CompletedPart.builder().partNumber(partNumber).eTag(res.eTag()).build())
+                .recover(err -> attempt < options.getMaxPartAttempts() && failure == null
+                    ? uploadPart(partNumber, length, body, attempt + 1)
+                    : Future.failedFuture(err));
+        }
+
+        void fail(Throwable err) {
+            if (failure == null) {
+                failure = err;
+            }
+        }
+
+        /**
+         * @param allSubmitted whether no more part will be sent
+         */
+        void checkDone(boolean allSubmitted) {
+            if (inFlight > 0) {
+                return;
+            }
+            if (failure != null) {
+                partsUploaded.tryFail(failure);
+            } else if (allSubmitted) {
+                partsUploaded.tryComplete();
+            }
+        }
+
+        private Future<CompleteMultipartUploadResponse> complete() {
+            completedParts.sort(Comparator.comparing(CompletedPart::partNumber));
+            return fromSdk(s3.completeMultipartUpload(b -> b
+                .bucket(request.bucket())
+                .key(request.key())
+                .uploadId(uploadId)
+                .requestPayer(request.requestPayer())
+                .expectedBucketOwner(request.expectedBucketOwner())
+                .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())));
+        }
+
+        private Future<CompleteMultipartUploadResponse> abort(Throwable cause) {
+            return fromSdk(s3.abortMultipartUpload(b -> b
+                .bucket(request.bucket())
+                .key(request.key())
+                .uploadId(uploadId)
+                .requestPayer(request.requestPayer())
+                .expectedBucketOwner(request.expectedBucketOwner())))
+                .transform(ar -> {
+                    if (ar.failed()) {
+                        cause.addSuppressed(ar.cause());
+                    }
+                    return Future.failedFuture(cause);
+                });
+        }
+
+        <T> Future<T> fromSdk(CompletableFuture<T> cf) {
+            return Future.fromCompletionStage(cf, context);
+        }
+    }
+
+    private final class FileUpload extends Upload {
+
+        private final String path;
+        private final long size;
+        private final int partCount;
+        private int nextPartNumber = 1;
+
+        FileUpload(Context context, CreateMultipartUploadRequest request, String path, long size) {
+            super(context, request);
+            this.path = path;
+            this.size = size;
+            // an empty file is uploaded as a single empty part
+            this.partCount = (int) Math.max(1, (size + options.getPartSize() - 1) / options.getPartSize());
+        }
+
+        @Override
+        void start() {
+            while (failure == null && inFlight < options.getConcurrency() && nextPartNumber <= partCount) {
+                final int partNumber = nextPartNumber++;
+                final long position = (partNumber - 1) * options.getPartSize();
+                final long length = Math.min(options.getPartSize(), size - position);
+                uploadPart(partNumber, length, () -> VertxAsyncRequestBody.fromFile(vertx, path, position, length), () -> {
+                    start();
+                    checkDone(nextPartNumber > partCount);
+                });
+            }
+        }
+    }
+
+    private final class StreamUpload extends Upload {
+
+        private final ReadStream<Buffer> source;
+        private final Deque<ByteBuf> freeBuffers = new ArrayDeque<>();
+        // full parts waiting for one of the concurrent uploads to be over
+        private final Deque<ByteBuf> readyParts = new ArrayDeque<>();
+        private int allocatedBuffers;
+        private int submittedParts;
+        private int nextPartNumber = 1;
+        private ByteBuf current;
+        // data that didn't fit in the current part while no buffer was available, the source is paused meanwhile
+        private ByteBuf pending;
+        private boolean ended;
+
+        StreamUpload(Context context, CreateMultipartUploadRequest request, ReadStream<Buffer> source) {
+            super(context, request);
+            this.source = requireNonNull(source);
+            // nothing must be lost while the upload is being created
+            source.pause();
+        }
+
+        @Override
+        void start() {
+            source.exceptionHandler(err -> {
+                fail(err);
+                checkDone(true);
+            });
+            source.endHandler(v -> {
+                ended = true;
+                if (pending == null) {
+                    finish();
+                }
+            });
+            source.handler(chunk -> append(BufferConverter.byteBuf(chunk)));
+            source.resume();
+        }
+
+        /**
+         * Stops reading the source, left paused for its owner to close, before the upload is aborted.
+         */
+        @Override
+        void fail(Throwable err) {
+            super.fail(err);
+            source.pause();
+            source.handler(null);
+            source.endHandler(null);
+        }
+
+        private void append(ByteBuf data) {
+            if (failure != null) {
+                return;
+            }
+            while (failure == null && data.isReadable()) {
+                if (current == null) {
+                    current = acquireBuffer();
+                    if (current == null) {
+                        pending = data;
+                        source.pause();
+                        return;
+                    }
+                }
+                current.writeBytes(data, Math.min(data.readableBytes(), current.writableBytes()));
+                if (!current.isWritable()) {
+                    submit();
+                }
+            }
+        }
+
+        private void finish() {
+            if (submittedParts == 0 && current == null) {
+                // an empty stream is uploaded as a single empty part
+                current = acquireBuffer();
+            }
+            if (current != null && (current.isReadable() || submittedParts == 0)) {
+                submit();
+            }
+            checkDone(readyParts.isEmpty());
+        }
+
+        /**
+         * Queues the current part, sent as soon as fewer than {@code concurrency} parts are being uploaded.
+         */
+        private void submit() {
+            if (submittedParts == MAX_PARTS) {
+                fail(new IllegalStateException("The stream needs more than " + MAX_PARTS + " parts of " + options.getPartSize() + " bytes"));
+                checkDone(true);
+                return;
+            }
+            submittedParts++;
+            readyParts.add(current);
+            current = null;
+            sendParts();
+        }
+
+        private void sendParts() {
+            while (failure == null && inFlight < options.getConcurrency() && !readyParts.isEmpty()) {
+                final ByteBuf part = readyParts.poll();
+                uploadPart(nextPartNumber++, part.readableBytes(), () -> new ByteBufRequestBody(part), () -> partDone(part));
+            }
+        }
+
+        private void partDone(ByteBuf part) {
+            releaseBuffer(part);
+            sendParts();
+            if (pending != null && failure == null) {
+                final ByteBuf data = pending;
+                pending = null;
+                append(data);
+                if (pending == null) {
+                    if (ended) {
+                        finish();
+                        return;
+                    }
+                    source.resume();
+                }
+            }
+            checkDone(ended && pending == null && current == null && readyParts.isEmpty());
+        }
+
+        private ByteBuf acquireBuffer() {
+            final ByteBuf buffer = freeBuffers.poll();
+            if (buffer != null || allocatedBuffers == options.getBufferPoolSize()) {
+                return buffer;
+            }
+            allocatedBuffers++;
+            final int partSize = (int) options.getPartSize();
+            return Unpooled.buffer(partSize, partSize);
+        }
+
+        private void releaseBuffer(ByteBuf buffer) {
+            buffer.clear();
+            freeBuffers.push(buffer);
+        }
+    }
+
+    /**
+     * Emits the readable bytes of a buffer as a single {@link ByteBuffer} view, once per subscription.
+     */
+    private static final class ByteBufRequestBody implements AsyncRequestBody {
+
+        private final ByteBuf buffer;
+
+        ByteBufRequestBody(ByteBuf buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public Optional<Long> contentLength() {
+            return Optional.of((long) buffer.readableBytes());
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> s) {
+            s.onSubscribe(new Subscription() {
+                private boolean done;
+
+                @Override
+                public void request(long n) {
+                    if (done) {
+                        return;
+                    }
+                    done = true;
+                    if (n <= 0) {
+                        s.onError(new IllegalArgumentException("Subscriber requested a non-positive number of elements: " + n));
+                        return;
+                    }
+                    if (buffer.isReadable()) {
+                        s.onNext(buffer.nioBuffer());
+                    }
+                    s.onComplete();
+                }
+
+                @Override
+                public void cancel() {
+                    done = true;
+                }
+            });
+        }
+    }
+}
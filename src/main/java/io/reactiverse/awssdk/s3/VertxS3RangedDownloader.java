@@ -0,0 +1,432 @@
+package io.reactiverse.awssdk.s3;
+
+import io.reactiverse.awssdk.converters.BufferConverter;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.streams.WriteStream;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Downloads S3 objects with concurrent {@code Range} GETs, using several connections of the S3 client.
+ * <p>
+ * The object size and ETag are read with a HEAD request first, ranges are then requested with {@code If-Match} so that
+ * an object replaced during the download fails it instead of mixing versions. The {@code range} of the given request is
+ * ignored. Failed ranges are requested again on their own, up to {@link RangedDownloadOptions#getMaxRangeAttempts()} times.
+ * <p>
+ * All the download bookkeeping happens on the context calling {@code download}, the S3 client can be bound to any context.
+ * Requires {@code software.amazon.awssdk:s3} on the classpath.
+ */
+public class VertxS3RangedDownloader {
+
+    // chunks of a range being written to a file at the same time
+    private static final int FILE_WRITE_WINDOW = 16;
+
+    private final Vertx vertx;
+    private final S3AsyncClient s3;
+    private final RangedDownloadOptions options;
+
+    public VertxS3RangedDownloader(Vertx vertx, S3AsyncClient s3) {
+        this(vertx, s3, new RangedDownloadOptions());
+    }
+
+    public VertxS3RangedDownloader(Vertx vertx, S3AsyncClient s3, RangedDownloadOptions options) {
+        this.vertx = requireNonNull(vertx);
+        this.s3 = requireNonNull(s3);
+        this.options = requireNonNull(options);
+    }
+
+    /**
+     * Writes each range at its offset in the file (starting at 0), as soon as it is received.
+     * The file is neither flushed nor closed.
+     *
+     * @return the size of the object
+     */
+    public Future<Long> downloadToFile(GetObjectRequest request, AsyncFile file) {
+        requireNonNull(file);
+        return new FileDownload(vertx.getOrCreateContext(), request, file).run();
+    }
+
+    /**
+     * Writes the ranges in order to the stream, which is ended once the whole object has been written.
+     * Ranges received ahead of the one being written are held in memory, no more than {@code concurrency} ranges are
+     * downloaded ahead, and no range is requested while the stream write queue is full.
+     * <p>
+     * If the download fails, the stream is ended as well, with only part of the object written. An
+     * {@link HttpServerResponse} is reset instead, so that the client doesn't take the partial body for the object.
+     *
+     * @return the size of the object
+     */
+    public Future<Long> download(GetObjectRequest request, WriteStream<Buffer> target) {
+        requireNonNull(target);
+        return new SequentialDownload(vertx.getOrCreateContext(), request, target).run();
+    }
+
+    /**
+     * State of a download, only accessed from its context.
+     */
+    private abstract class Download {
+
+        final Context context;
+        final GetObjectRequest request;
+        final Promise<Void> rangesDone = Promise.promise();
+        long size;
+        String eTag;
+        int rangeCount;
+        int nextRange;
+        int inFlight;
+        Throwable failure;
+
+        Download(Context context, GetObjectRequest request) {
+            this.context = context;
+            this.request = requireNonNull(request);
+        }
+
+        Future<Long> run() {
+            return Future.fromCompletionStage(s3.headObject(b -> b
+                .bucket(request.bucket())
+                .key(request.key())
+                .versionId(request.versionId())
+                .sseCustomerAlgorithm(request.sseCustomerAlgorithm())
+                .sseCustomerKey(request.sseCustomerKey())
+                .sseCustomerKeyMD5(request.sseCustomerKeyMD5())
+                .requestPayer(request.requestPayer())
+                .expectedBucketOwner(request.expectedBucketOwner())), context)
+                .compose(head -> {
+                    init(head);
+                    launch();
+                    checkDone();
+                    return rangesDone.future();
+                })
+                .compose(v -> finish(), this::abort)
+                .map(v -> size);
+        }
+
+        private void init(HeadObjectResponse head) {
+            size = head.contentLength();
+            eTag = head.eTag();
+            rangeCount = (int) ((size + options.getRangeSize() - 1) / options.getRangeSize());
+        }
+
+        /**
+         * Requests ranges, as long as allowed.
+         */
+        abstract void launch();
+
+        /**
+         * Called once all the ranges have been received.
+         */
+        abstract Future<Void> finish();
+
+        /**
+         * Called when the download fails, once no range is in flight anymore.
+         */
+        Future<Void> abort(Throwable cause) {
+            return Future.failedFuture(cause);
+        }
+
+        boolean allReceived() {
+            return nextRange == rangeCount && inFlight == 0;
+        }
+
+        <T> Future<T> getRange(int range, Supplier<AsyncResponseTransformer<GetObjectResponse, T>> transformer) {
+            inFlight++;
+            return getRange(range, transformer, 1).onComplete(ar -> {
+                inFlight--;
+                if (ar.failed() && failure == null) {
+                    failure = ar.cause();
+                }
+            });
+        }
+
+        private <T> Future<T> getRange(int range, Supplier<AsyncResponseTransformer<GetObjectResponse, T>> transformer, int attempt) {
+            final GetObjectRequest rangeRequest = request.toBuilder()
+                .range("bytes=" + rangeStart(range) + "-" + (rangeStart(range) + rangeLength(range) - 1))
+                .ifMatch(eTag)
+                .build();
+            return Future.fromCompletionStage(s3.getObject(rangeRequest, transformer.get()), context)
+                .recover(err -> attempt < options.getMaxRangeAttempts() && failure == null
+                    ? getRange(range, transformer, attempt + 1)
+                    : Future.failedFuture(err));
+        }
+
+        long rangeStart(int range) {
+            return range * options.getRangeSize();
+        }
+
+        long rangeLength(int range) {
+            return Math.min(options.getRangeSize(), size - rangeStart(range));
+        }
+
+        void checkDone() {
+            if (inFlight > 0) {
+                return;
+            }
+            if (failure != null) {
+                rangesDone.tryFail(failure);
+            } else if (allReceived()) {
+                rangesDone.tryComplete();
+            }
+        }
+    }
+
+    private final class FileDownload extends Download {
+
+        private final AsyncFile file;
+
+        FileDownload(Context context, GetObjectRequest request, AsyncFile file) {
+            super(context, request);
+            this.file = file;
+        }
+
+        @Override
+        void launch() {
+            while (failure == null && inFlight < options.getConcurrency() && nextRange < rangeCount) {
+                final int range = nextRange++;
+                getRange(range, () -> new FileRangeTransformer(file, rangeStart(range))).onComplete(ar -> {
+                    launch();
+                    checkDone();
+                });
+            }
+        }
+
+        @Override
+        Future<Void> finish() {
+            return Future.succeededFuture();
+        }
+    }
+
+    private final class SequentialDownload extends Download {
+
+        private final WriteStream<Buffer> target;
+        private final Map<Integer, Buffer> received = new HashMap<>();
+        private int nextToWrite;
+
+        SequentialDownload(Context context, GetObjectRequest request, WriteStream<Buffer> target) {
+            super(context, request);
+            this.target = target;
+            // the stream may drain on another context
+            target.drainHandler(v -> {
+                if (Vertx.currentContext() == context) {
+                    launch();
+                } else {
+                    context.runOnContext(x -> launch());
+                }
+            });
+        }
+
+        @Override
+        void launch() {
+            while (failure == null && nextRange < rangeCount && nextRange - nextToWrite < options.getConcurrency()
+                && !target.writeQueueFull()) {
+                final int range = nextRange++;
+                final int length = (int) rangeLength(range);
+                getRange(range, () -> new BufferRangeTransformer(length)).onComplete(ar -> {
+                    if (ar.succeeded()) {
+                        received.put(range, ar.result());
+                        write();
+                    }
+                    launch();
+                    checkDone();
+                });
+            }
+        }
+
+        private void write() {
+            Buffer buffer;
+            while (failure == null && (buffer = received.remove(nextToWrite)) != null) {
+                nextToWrite++;
+                target.write(buffer).onFailure(err -> {
+                    if (failure == null) {
+                        failure = err;
+                    }
+                    checkDone();
+                });
+            }
+        }
+
+        @Override
+        boolean allReceived() {
+            return super.allReceived() && nextToWrite == rangeCount;
+        }
+
+        @Override
+        Future<Void> finish() {
+            target.drainHandler(null);
+            return target.end();
+        }
+
+        @Override
+        Future<Void> abort(Throwable cause) {
+            target.drainHandler(null);
+            if (target instanceof HttpServerResponse) {
+                ((HttpServerResponse) target).reset();
+            } else {
+                target.end();
+            }
+            return Future.failedFuture(cause);
+        }
+    }
+
+    /**
+     * Writes the chunks of a range at their position in the file, with at most {@link #FILE_WRITE_WINDOW} writes pending.
+     * Chunks are emitted on the HTTP client context while writes complete on the file context.
+     */
+    private static final class FileRangeTransformer implements AsyncResponseTransformer<GetObjectResponse, Void> {
+
+        private final AsyncFile file;
+        private final long start;
+        private volatile Attempt attempt;
+
+        FileRangeTransformer(AsyncFile file, long start) {
+            this.file = file;
+            this.start = start;
+        }
+
+        @Override
+        public CompletableFuture<Void> prepare() {
+            // called again when the SDK retries: the range is written again from its start, writes of the previous
+            // attempt completing meanwhile only affect that attempt
+            final Attempt next = new Attempt();
+            attempt = next;
+            return next.cf;
+        }
+
+        @Override
+        public void onResponse(GetObjectResponse response) {
+        }
+
+        @Override
+        public void onStream(SdkPublisher<ByteBuffer> publisher) {
+            publisher.subscribe(attempt);
+        }
+
+        @Override
+        public void exceptionOccurred(Throwable error) {
+            attempt.cf.completeExceptionally(error);
+        }
+
+        private final class Attempt implements Subscriber<ByteBuffer> {
+
+            private final CompletableFuture<Void> cf = new CompletableFuture<>();
+            private final AtomicInteger pendingWrites = new AtomicInteger();
+            private volatile boolean streamEnded;
+            private volatile Subscription subscription;
+            private long position = start;
+
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription = s;
+                s.request(FILE_WRITE_WINDOW);
+            }
+
+            @Override
+            public void onNext(ByteBuffer byteBuffer) {
+                final long writePosition = position;
+                position += byteBuffer.remaining();
+                pendingWrites.incrementAndGet();
+                file.write(BufferConverter.wrap(byteBuffer), writePosition).onComplete(ar -> {
+                    if (ar.failed()) {
+                        subscription.cancel();
+                        cf.completeExceptionally(ar.cause());
+                        return;
+                    }
+                    if (pendingWrites.decrementAndGet() == 0 && streamEnded) {
+                        cf.complete(null);
+                    } else {
+                        subscription.request(1);
+                    }
+                });
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                cf.completeExceptionally(t);
+            }
+
+            @Override
+            public void onComplete() {
+                streamEnded = true;
+                if (pendingWrites.get() == 0) {
+                    cf.complete(null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gathers a range in a buffer sized up-front.
+     */
+    private static final class BufferRangeTransformer implements AsyncResponseTransformer<GetObjectResponse, Buffer>, Subscriber<ByteBuffer> {
+
+        private final int length;
+        private volatile CompletableFuture<Buffer> cf;
+        private volatile Buffer buffer;
+
+        BufferRangeTransformer(int length) {
+            this.length = length;
+        }
+
+        @Override
+        public CompletableFuture<Buffer> prepare() {
+            buffer = Buffer.buffer(length);
+            cf = new CompletableFuture<>();
+            return cf;
+        }
+
+        @Override
+        public void onResponse(GetObjectResponse response) {
+        }
+
+        @Override
+        public void onStream(SdkPublisher<ByteBuffer> publisher) {
+            publisher.subscribe(this);
+        }
+
+        @Override
+        public void exceptionOccurred(Throwable error) {
+            cf.completeExceptionally(error);
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            // the range is bounded, no need to apply backpressure
+            s.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            buffer.appendBuffer(BufferConverter.wrap(byteBuffer));
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            cf.completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            cf.complete(buffer);
+        }
+    }
+}
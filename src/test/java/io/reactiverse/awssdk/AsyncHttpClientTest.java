@@ -3,6 +3,8 @@ package io.reactiverse.awssdk;
 import io.netty.buffer.Unpooled;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.Timeout;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -11,6 +13,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 import software.amazon.awssdk.core.internal.http.async.SimpleHttpContentPublisher;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpMethod;
@@ -142,4 +146,81 @@ public class AsyncHttpClientTest {
       });
   }
 
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testCancelResetsConnection(VertxTestContext ctx) {
+    final Checkpoint connectionClosed = ctx.checkpoint();
+    final Checkpoint executionCompleted = ctx.checkpoint();
+    server.requestHandler(req -> {
+      req.connection().closeHandler(v -> connectionClosed.flag());
+      final HttpServerResponse response = req.response().setChunked(true);
+      // never ending body, only the client going away can stop it
+      vertx.setPeriodic(10, id -> {
+        if (response.closed()) {
+          vertx.cancelTimer(id);
+        } else {
+          response.write("chunk");
+        }
+      });
+    });
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      client.execute(AsyncExecuteRequest.builder()
+          .request(SdkHttpRequest
+            .builder()
+            .protocol(SCHEME)
+            .host(HOST)
+            .port(PORT)
+            .method(SdkHttpMethod.GET)
+            .build())
+          .responseHandler(new SdkAsyncHttpResponseHandler() {
+            @Override
+            public void onHeaders(SdkHttpResponse headers) {
+              assertEquals(200, headers.statusCode());
+            }
+
+            @Override
+            public void onStream(Publisher<ByteBuffer> stream) {
+              stream.subscribe(new Subscriber<ByteBuffer>() {
+                private Subscription subscription;
+
+                @Override
+                public void onSubscribe(Subscription s) {
+                  subscription = s;
+                  s.request(1);
+                }
+
+                @Override
+                public void onNext(ByteBuffer byteBuffer) {
+                  subscription.cancel();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                  ctx.failNow(t);
+                }
+
+                @Override
+                public void onComplete() {
+                  ctx.failNow(new AssertionError("A cancelled stream should not complete"));
+                }
+              });
+            }
+
+            @Override
+            public void onError(Throwable error) {
+              ctx.failNow(error);
+            }
+          })
+          .build())
+        .whenComplete((v, err) -> {
+          if (err != null) {
+            ctx.failNow(err);
+          } else {
+            executionCompleted.flag();
+          }
+        });
+    });
+  }
+
 }
@@ -0,0 +1,89 @@
+package io.reactiverse.awssdk;
+
+import io.reactiverse.awssdk.converters.VertxAsyncRequestBody;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(VertxExtension.class)
+public class AsyncRequestBodyTest {
+
+  private static final int FILE_SIZE = 1024 * 1024 + 17;
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testFileBodyCanBeSubscribedTwice(Vertx vertx, VertxTestContext ctx) throws Exception {
+    final Path path = Files.createTempFile("async-request-body", ".bin");
+    path.toFile().deleteOnExit();
+    final byte[] content = new byte[FILE_SIZE];
+    for (int i = 0; i < FILE_SIZE; i++) {
+      content[i] = (byte) i;
+    }
+    Files.write(path, content);
+    final VertxAsyncRequestBody body = VertxAsyncRequestBody.fromFile(vertx, path.toString()).withReadBufferSize(64 * 1024);
+    assertEquals(FILE_SIZE, body.contentLength().get());
+    // the SDK subscribes again when retrying a request
+    body.subscribe(new ContentChecker(ctx, content, 0, FILE_SIZE, () ->
+      VertxAsyncRequestBody.fromFile(vertx, path.toString(), 10, 100).subscribe(new ContentChecker(ctx, content, 10, 110, () ->
+        body.subscribe(new ContentChecker(ctx, content, 0, FILE_SIZE, ctx::completeNow))))));
+  }
+
+  private static class ContentChecker implements Subscriber<ByteBuffer> {
+
+    private final VertxTestContext ctx;
+    private final byte[] expected;
+    private final int end;
+    private final Runnable onComplete;
+    private int position;
+
+    ContentChecker(VertxTestContext ctx, byte[] expected, int start, int end, Runnable onComplete) {
+      this.ctx = ctx;
+      this.expected = expected;
+      this.position = start;
+      this.end = end;
+      this.onComplete = onComplete;
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+      s.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(ByteBuffer byteBuffer) {
+      while (byteBuffer.hasRemaining()) {
+        final byte b = byteBuffer.get();
+        if (b != expected[position++]) {
+          ctx.failNow(new AssertionError("Unexpected byte at " + (position - 1)));
+          return;
+        }
+      }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      ctx.failNow(t);
+    }
+
+    @Override
+    public void onComplete() {
+      if (position != end) {
+        ctx.failNow(new AssertionError("Body ended at " + position + " instead of " + end));
+        return;
+      }
+      onComplete.run();
+    }
+  }
+}
@@ -0,0 +1,297 @@
+package io.reactiverse.awssdk;
+
+import io.reactiverse.awssdk.converters.VertxAsyncResponseTransformer;
+import io.reactiverse.awssdk.converters.VertxBufferResponseTransformer;
+import io.reactiverse.awssdk.converters.VertxReadStreamResponseTransformer;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.streams.WriteStream;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(VertxExtension.class)
+public class AsyncResponseTransformerTest {
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testFileIsRewoundOnRetryAfterPartialBody(Vertx vertx, VertxTestContext ctx) throws Exception {
+    final Path path = Files.createTempFile("async-response-transformer", ".txt");
+    path.toFile().deleteOnExit();
+    vertx.fileSystem().open(path.toString(), new OpenOptions().setWrite(true).setTruncateExisting(true), ctx.succeeding(file -> {
+      final VertxAsyncResponseTransformer<String> transformer = new VertxAsyncResponseTransformer<>(file);
+      final IOException failure = new IOException("Connection reset");
+      final CompletableFuture<?> firstAttempt = transformer.prepare();
+      transformer.onResponse("first");
+      transformer.onStream(body(failure, "hello "));
+      transformer.exceptionOccurred(failure);
+      assertTrue(firstAttempt.isCompletedExceptionally(), "A failed body should fail the attempt");
+      transformer.prepare().whenComplete((ws, err) -> {
+        if (err != null) {
+          ctx.failNow(err);
+          return;
+        }
+        vertx.fileSystem().readFile(path.toString(), ctx.succeeding(content -> ctx.verify(() -> {
+          assertEquals("hello world", content.toString());
+          ctx.completeNow();
+        })));
+      });
+      transformer.onResponse("second");
+      transformer.onStream(body(null, "hello ", "world"));
+    }));
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testRetryFailsAfterPartialBodyOnSequentialStream(VertxTestContext ctx) {
+    final Buffer received = Buffer.buffer();
+    final VertxAsyncResponseTransformer<String> transformer = new VertxAsyncResponseTransformer<>(new BufferWriteStream(received));
+    final IOException failure = new IOException("Connection reset");
+    transformer.prepare();
+    transformer.onResponse("first");
+    transformer.onStream(body(failure, "hello "));
+    transformer.exceptionOccurred(failure);
+    transformer.prepare().whenComplete((ws, err) -> ctx.verify(() -> {
+      assertTrue(err instanceof IllegalStateException, "The retry should be refused");
+      assertEquals("hello ", received.toString());
+      ctx.completeNow();
+    }));
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testLateBodyOfPreviousAttemptIsDropped(VertxTestContext ctx) {
+    final Buffer received = Buffer.buffer();
+    final VertxAsyncResponseTransformer<String> transformer = new VertxAsyncResponseTransformer<>(new BufferWriteStream(received));
+    final AtomicReference<Subscriber<? super ByteBuffer>> firstBody = new AtomicReference<>();
+    transformer.prepare();
+    transformer.onResponse("first");
+    transformer.onStream(SdkPublisher.adapt(s -> {
+      firstBody.set(s);
+      s.onSubscribe(new Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+      });
+    }));
+    // e.g. the attempt timed out before receiving its body
+    transformer.exceptionOccurred(new IOException("Timeout"));
+    final CompletableFuture<?> retry = transformer.prepare();
+    firstBody.get().onNext(ByteBuffer.wrap("stale".getBytes(StandardCharsets.UTF_8)));
+    firstBody.get().onComplete();
+    ctx.verify(() -> assertFalse(retry.isDone(), "The previous attempt should not end the stream"));
+    retry.whenComplete((ws, err) -> ctx.verify(() -> {
+      assertNull(err);
+      assertEquals("hello", received.toString());
+      ctx.completeNow();
+    }));
+    transformer.onResponse("second");
+    transformer.onStream(body(null, "hello"));
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testReadStreamAppliesBackpressure(Vertx vertx, VertxTestContext ctx) {
+    final Context context = vertx.getOrCreateContext();
+    final String[] chunks = new String[64];
+    final StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < chunks.length; i++) {
+      chunks[i] = "chunk-" + i + ";";
+      expected.append(chunks[i]);
+    }
+    final AtomicInteger emitted = new AtomicInteger();
+    final VertxReadStreamResponseTransformer<String> transformer = new VertxReadStreamResponseTransformer<>(context, 4);
+    transformer.prepare().thenAccept(stream -> context.runOnContext(v -> {
+      final Buffer received = Buffer.buffer();
+      stream.pause();
+      stream.handler(received::appendBuffer);
+      stream.endHandler(end -> ctx.verify(() -> {
+        assertEquals(expected.toString(), received.toString());
+        ctx.completeNow();
+      }));
+      vertx.setTimer(100, id -> {
+        ctx.verify(() -> assertEquals(4, emitted.get(), "No more than the window should be requested while paused"));
+        stream.resume();
+      });
+    }));
+    transformer.onResponse("response");
+    transformer.onStream(body(emitted, null, chunks));
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testReadStreamFetch(Vertx vertx, VertxTestContext ctx) {
+    final Context context = vertx.getOrCreateContext();
+    final VertxReadStreamResponseTransformer<String> transformer = new VertxReadStreamResponseTransformer<>(context, 4);
+    transformer.prepare().thenAccept(stream -> context.runOnContext(v -> {
+      final List<String> received = new ArrayList<>();
+      stream.pause();
+      stream.handler(buffer -> received.add(buffer.toString()));
+      stream.endHandler(end -> ctx.verify(() -> {
+        assertEquals(Arrays.asList("a", "b", "c"), received);
+        ctx.completeNow();
+      }));
+      vertx.setTimer(100, id -> {
+        stream.fetch(2);
+        ctx.verify(() -> assertEquals(Arrays.asList("a", "b"), received));
+        // the end is only signalled once the last item is emitted
+        vertx.setTimer(100, id2 -> {
+          ctx.verify(() -> assertEquals(2, received.size()));
+          stream.fetch(1);
+        });
+      });
+    }));
+    transformer.onResponse("response");
+    transformer.onStream(body(null, "a", "b", "c"));
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testBufferAggregation(VertxTestContext ctx) {
+    final VertxBufferResponseTransformer<GetObjectResponse> transformer = new VertxBufferResponseTransformer<>();
+    transformer.prepare().whenComplete((body, err) -> ctx.verify(() -> {
+      assertEquals("hello world", body.toString());
+      ctx.completeNow();
+    }));
+    transformer.onResponse(withContentLength(11));
+    transformer.onStream(body(null, "hello", " ", "world"));
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testBufferAggregationChecksContentLength(VertxTestContext ctx) {
+    final VertxBufferResponseTransformer<GetObjectResponse> transformer = new VertxBufferResponseTransformer<>();
+    transformer.prepare().whenComplete((body, err) -> ctx.verify(() -> {
+      assertTrue(err instanceof IOException, "A truncated body should be detected");
+      ctx.completeNow();
+    }));
+    transformer.onResponse(withContentLength(20));
+    transformer.onStream(body(null, "hello", " ", "world"));
+  }
+
+  private static GetObjectResponse withContentLength(long contentLength) {
+    return (GetObjectResponse) GetObjectResponse.builder()
+      .sdkHttpResponse(SdkHttpResponse.builder()
+        .statusCode(200)
+        .putHeader("Content-Length", String.valueOf(contentLength))
+        .build())
+      .build();
+  }
+
+  private static SdkPublisher<ByteBuffer> body(Throwable error, String... chunks) {
+    return body(new AtomicInteger(), error, chunks);
+  }
+
+  /**
+   * Emits the chunks as requested, then the error if any.
+   */
+  private static SdkPublisher<ByteBuffer> body(AtomicInteger emitted, Throwable error, String... chunks) {
+    final Publisher<ByteBuffer> publisher = s -> s.onSubscribe(new Subscription() {
+      private int index;
+      private boolean done;
+
+      @Override
+      public void request(long n) {
+        while (n-- > 0 && index < chunks.length) {
+          emitted.incrementAndGet();
+          s.onNext(ByteBuffer.wrap(chunks[index++].getBytes(StandardCharsets.UTF_8)));
+        }
+        if (index == chunks.length && !done) {
+          done = true;
+          if (error != null) {
+            s.onError(error);
+          } else {
+            s.onComplete();
+          }
+        }
+      }
+
+      @Override
+      public void cancel() {
+        done = true;
+      }
+    });
+    return SdkPublisher.adapt(publisher);
+  }
+
+  private static class BufferWriteStream implements WriteStream<Buffer> {
+
+    private final Buffer received;
+
+    BufferWriteStream(Buffer received) {
+      this.received = received;
+    }
+
+    @Override
+    public WriteStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public Future<Void> write(Buffer data) {
+      received.appendBuffer(data);
+      return Future.succeededFuture();
+    }
+
+    @Override
+    public void write(Buffer data, Handler<AsyncResult<Void>> handler) {
+      received.appendBuffer(data);
+      handler.handle(Future.succeededFuture());
+    }
+
+    @Override
+    public void end(Handler<AsyncResult<Void>> handler) {
+      handler.handle(Future.succeededFuture());
+    }
+
+    @Override
+    public WriteStream<Buffer> setWriteQueueMaxSize(int maxSize) {
+      return this;
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+      return false;
+    }
+
+    @Override
+    public WriteStream<Buffer> drainHandler(Handler<Void> handler) {
+      return this;
+    }
+  }
+}
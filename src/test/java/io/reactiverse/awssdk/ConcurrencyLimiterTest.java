@@ -0,0 +1,162 @@
+package io.reactiverse.awssdk;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.reactivestreams.Publisher;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.http.async.SimpleSubscriber;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(VertxExtension.class)
+public class ConcurrencyLimiterTest {
+
+  private static final int PORT = 8000;
+  private static final String HOST = "localhost";
+  private static final String SCHEME = "http";
+
+  private Vertx vertx;
+  private HttpServer server;
+  private SdkAsyncHttpClient client;
+
+  @BeforeEach
+  public void setUp() {
+    vertx = Vertx.vertx();
+    server = vertx.createHttpServer();
+  }
+
+  @AfterEach
+  public void tearDown(VertxTestContext ctx) {
+    client.close();
+    server.close(res -> {
+      assertTrue(res.succeeded());
+      ctx.completeNow();
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testRejectsWhenQueueIsFull(VertxTestContext ctx) {
+    client = VertxNioAsyncHttpClient.builder()
+      .context(vertx.getOrCreateContext())
+      .concurrencyLimiter(new AdaptiveConcurrencyLimiter(new ConcurrencyLimiterOptions()
+        .setInitialLimit(1)
+        .setMaxQueueSize(1)))
+      .build();
+    // requests are never answered, the first one holds the only permit, the second one waits
+    server.requestHandler(req -> {});
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      client.execute(get(ignoringResponse()));
+      client.execute(get(ignoringResponse()));
+      client.execute(get(ignoringResponse())).whenComplete((v, err) -> ctx.verify(() -> {
+        assertTrue(err instanceof SdkClientException, "Unexpected error " + err);
+        ctx.completeNow();
+      }));
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testThrottlingDecreasesLimit(VertxTestContext ctx) {
+    final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new ConcurrencyLimiterOptions()
+      .setInitialLimit(10)
+      .setBackoffRatio(0.5));
+    client = VertxNioAsyncHttpClient.builder()
+      .context(vertx.getOrCreateContext())
+      .concurrencyLimiter(limiter)
+      .build();
+    server.requestHandler(req -> req.response()
+      .setStatusCode(400)
+      .putHeader("x-amzn-ErrorType", "ProvisionedThroughputExceededException")
+      .end());
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      final CompletableFuture<Void> first = client.execute(get(ignoringResponse()));
+      first
+        .thenCompose(v -> client.execute(get(ignoringResponse())))
+        // permits are released by other callbacks of the execution future
+        .whenComplete((v, err) -> vertx.setTimer(100, id -> ctx.verify(() -> {
+          // each request was sent after the previous decrease
+          assertEquals(2, limiter.limit());
+          assertEquals(0, limiter.inFlight());
+          ctx.completeNow();
+        })));
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testCancelledRequestDecreasesLimit(VertxTestContext ctx) {
+    final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new ConcurrencyLimiterOptions()
+      .setInitialLimit(10)
+      .setBackoffRatio(0.5));
+    client = VertxNioAsyncHttpClient.builder()
+      .context(vertx.getOrCreateContext())
+      .concurrencyLimiter(limiter)
+      .build();
+    final AtomicReference<CompletableFuture<Void>> execution = new AtomicReference<>();
+    server.requestHandler(req -> {
+      req.connection().closeHandler(v -> vertx.setTimer(100, id -> ctx.verify(() -> {
+        assertEquals(5, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+        ctx.completeNow();
+      })));
+      // as the SDK does when apiCallAttemptTimeout expires
+      execution.get().cancel(false);
+    });
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      execution.set(client.execute(get(ignoringResponse())));
+    });
+  }
+
+  private static AsyncExecuteRequest get(SdkAsyncHttpResponseHandler responseHandler) {
+    return AsyncExecuteRequest.builder()
+      .request(SdkHttpRequest
+        .builder()
+        .protocol(SCHEME)
+        .host(HOST)
+        .port(PORT)
+        .method(SdkHttpMethod.GET)
+        .build())
+      .responseHandler(responseHandler)
+      .build();
+  }
+
+  private static SdkAsyncHttpResponseHandler ignoringResponse() {
+    return new SdkAsyncHttpResponseHandler() {
+      @Override
+      public void onHeaders(SdkHttpResponse headers) {
+      }
+
+      @Override
+      public void onStream(Publisher<ByteBuffer> stream) {
+        stream.subscribe(new SimpleSubscriber(body -> {}));
+      }
+
+      @Override
+      public void onError(Throwable error) {
+      }
+    };
+  }
+}
@@ -0,0 +1,139 @@
+package io.reactiverse.awssdk;
+
+import io.reactiverse.awssdk.auth.VertxCredentialsProvider;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(VertxExtension.class)
+public class CredentialsProviderTest {
+
+  private static final int PORT = 8000;
+  private static final String HOST = "localhost";
+  private static final String TOKEN = "secret-token";
+  private static final Duration REFRESH_AHEAD = Duration.ofMinutes(1);
+
+  private Vertx vertx;
+  private HttpServer server;
+  private VertxCredentialsProvider provider;
+
+  @BeforeEach
+  public void setUp() {
+    vertx = Vertx.vertx();
+    server = vertx.createHttpServer();
+  }
+
+  @AfterEach
+  public void tearDown(VertxTestContext ctx) {
+    // the provider is only created once the server listens
+    if (provider != null) {
+      provider.close();
+    }
+    server.close(res -> {
+      assertTrue(res.succeeded());
+      ctx.completeNow();
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testCredentialsAreRefreshedBeforeExpiration(VertxTestContext ctx) {
+    final AtomicInteger loads = new AtomicInteger();
+    server.requestHandler(req -> {
+      if (!TOKEN.equals(req.getHeader("Authorization"))) {
+        req.response().setStatusCode(401).end();
+        return;
+      }
+      final int load = loads.incrementAndGet();
+      // the first credentials have to be refreshed a second from now
+      final Instant expiration = load == 1 ? Instant.now().plus(REFRESH_AHEAD).plusSeconds(1) : Instant.now().plus(Duration.ofHours(1));
+      req.response().end(new JsonObject()
+        .put("AccessKeyId", "AKID" + load)
+        .put("SecretAccessKey", "secret" + load)
+        .put("Token", "token" + load)
+        .put("Expiration", expiration.toString())
+        .toBuffer());
+    });
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      provider = VertxCredentialsProvider.containerCredentials(vertx, "http://" + HOST + ":" + PORT + "/credentials", TOKEN, REFRESH_AHEAD);
+      provider.ready().onComplete(ctx.succeeding(v -> {
+        ctx.verify(() -> {
+          final AwsSessionCredentials credentials = (AwsSessionCredentials) provider.resolveCredentials();
+          assertEquals("AKID1", credentials.accessKeyId());
+          assertEquals("token1", credentials.sessionToken());
+        });
+        vertx.setTimer(2500, id -> ctx.verify(() -> {
+          assertEquals(2, loads.get(), "Credentials should have been refreshed once");
+          assertEquals("AKID2", provider.resolveCredentials().accessKeyId());
+          ctx.completeNow();
+        }));
+      }));
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testProvidedClientIsNotClosed(VertxTestContext ctx) {
+    server.requestHandler(req -> req.response().end(new JsonObject()
+      .put("AccessKeyId", "AKID")
+      .put("SecretAccessKey", "secret")
+      .put("Token", "token")
+      .put("Expiration", Instant.now().plus(Duration.ofHours(1)).toString())
+      .toBuffer()));
+    final HttpClient client = vertx.createHttpClient();
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      final String uri = "http://" + HOST + ":" + PORT + "/credentials";
+      provider = VertxCredentialsProvider.containerCredentials(vertx, client, uri, null, REFRESH_AHEAD);
+      provider.ready().onComplete(ctx.succeeding(v -> {
+        ctx.verify(() -> assertEquals("AKID", provider.resolveCredentials().accessKeyId()));
+        provider.close();
+        provider = null;
+        // the client still works once the provider is closed
+        vertx.setTimer(100, id -> client.request(HttpMethod.GET, PORT, HOST, "/credentials")
+          .compose(req -> req.send())
+          .onComplete(ctx.succeeding(resp -> ctx.verify(() -> {
+            assertEquals(200, resp.statusCode());
+            client.close();
+            ctx.completeNow();
+          }))));
+      }));
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testHungEndpointTimesOut(VertxTestContext ctx) {
+    // never answers, and the client of the application has no timeout
+    server.requestHandler(req -> {});
+    final HttpClient client = vertx.createHttpClient();
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      final String uri = "http://" + HOST + ":" + PORT + "/credentials";
+      provider = VertxCredentialsProvider.containerCredentials(vertx, client, uri, null, REFRESH_AHEAD);
+      provider.ready().onComplete(ctx.failing(err -> {
+        client.close();
+        ctx.completeNow();
+      }));
+    });
+  }
+}
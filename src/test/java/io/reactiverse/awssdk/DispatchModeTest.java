@@ -0,0 +1,125 @@
+package io.reactiverse.awssdk;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.reactivestreams.Publisher;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.http.async.SimpleSubscriber;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(VertxExtension.class)
+public class DispatchModeTest {
+
+  private static final int PORT = 8000;
+  private static final String HOST = "localhost";
+  private static final String SCHEME = "http";
+
+  private Vertx vertx;
+  private HttpServer server;
+  private Context clientContext;
+  private Context callerContext;
+  private SdkAsyncHttpClient client;
+
+  @BeforeEach
+  public void setUp() {
+    vertx = Vertx.vertx();
+    server = vertx.createHttpServer();
+    server.requestHandler(req -> req.response().end("foo"));
+    clientContext = ((VertxInternal) vertx).createEventLoopContext();
+    callerContext = ((VertxInternal) vertx).createEventLoopContext();
+  }
+
+  @AfterEach
+  public void tearDown(VertxTestContext ctx) {
+    client.close();
+    server.close(res -> {
+      assertTrue(res.succeeded());
+      ctx.completeNow();
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testClientContextFromAnotherEventLoop(VertxTestContext ctx) {
+    client = VertxNioAsyncHttpClient.builder()
+      .context(clientContext)
+      .dispatchMode(VertxNioAsyncHttpClient.DispatchMode.CLIENT_CONTEXT)
+      .build();
+    executeFromCaller(ctx, clientContext);
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testCallerEventLoopByDefault(VertxTestContext ctx) {
+    // like the previous versions, which executed requests on any event loop they were called from
+    client = new VertxNioAsyncHttpClient(clientContext);
+    executeFromCaller(ctx, callerContext);
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testCallerEventLoop(VertxTestContext ctx) {
+    client = VertxNioAsyncHttpClient.builder()
+      .context(clientContext)
+      .dispatchMode(VertxNioAsyncHttpClient.DispatchMode.CALLER_EVENT_LOOP)
+      .build();
+    executeFromCaller(ctx, callerContext);
+  }
+
+  private void executeFromCaller(VertxTestContext ctx, Context expectedContext) {
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      callerContext.runOnContext(v -> client.execute(AsyncExecuteRequest.builder()
+        .request(SdkHttpRequest
+          .builder()
+          .protocol(SCHEME)
+          .host(HOST)
+          .port(PORT)
+          .method(SdkHttpMethod.GET)
+          .build())
+        .responseHandler(new SdkAsyncHttpResponseHandler() {
+          @Override
+          public void onHeaders(SdkHttpResponse headers) {
+            ctx.verify(() -> assertSame(expectedContext, Vertx.currentContext(), "Response should be handled on the expected context"));
+          }
+
+          @Override
+          public void onStream(Publisher<ByteBuffer> stream) {
+            stream.subscribe(new SimpleSubscriber(body -> {}));
+          }
+
+          @Override
+          public void onError(Throwable error) {
+            ctx.failNow(error);
+          }
+        })
+        .build())
+        .whenComplete((done, err) -> {
+          if (err != null) {
+            ctx.failNow(err);
+          } else {
+            ctx.completeNow();
+          }
+        }));
+    });
+  }
+}
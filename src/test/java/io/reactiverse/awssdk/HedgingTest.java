@@ -0,0 +1,245 @@
+package io.reactiverse.awssdk;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.reactivestreams.Publisher;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.http.async.SimpleSubscriber;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(VertxExtension.class)
+public class HedgingTest {
+
+  private static final int PORT = 8000;
+  private static final String HOST = "localhost";
+  private static final String SCHEME = "http";
+
+  private Vertx vertx;
+  private HttpServer server;
+  private SdkAsyncHttpClient client;
+
+  @BeforeEach
+  public void setUp() {
+    vertx = Vertx.vertx();
+    server = vertx.createHttpServer();
+    client = VertxNioAsyncHttpClient.builder()
+      .context(vertx.getOrCreateContext())
+      .hedging(new HedgingPolicy()
+        .setMinSamples(1)
+        .setMinDelay(Duration.ofMillis(100)))
+      .build();
+  }
+
+  @AfterEach
+  public void tearDown(VertxTestContext ctx) {
+    client.close();
+    server.close(res -> {
+      assertTrue(res.succeeded());
+      ctx.completeNow();
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testLateRequestIsHedged(VertxTestContext ctx) {
+    final AtomicInteger received = new AtomicInteger();
+    final Checkpoint loserReset = ctx.checkpoint();
+    final Checkpoint hedgedResponse = ctx.checkpoint();
+    server.requestHandler(req -> {
+      final int n = received.incrementAndGet();
+      if (n == 2) {
+        // the first attempt of the second request never gets a response
+        req.connection().closeHandler(v -> loserReset.flag());
+      } else {
+        req.response().end("response " + n);
+      }
+    });
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      // the first request gives the latency the hedging delay is based on
+      get(new StringBuilder())
+        .thenCompose(v -> {
+          final StringBuilder body = new StringBuilder();
+          return get(body).thenApply(x -> body.toString());
+        })
+        .whenComplete((body, err) -> ctx.verify(() -> {
+          if (err != null) {
+            throw err;
+          }
+          assertEquals("response 3", body);
+          hedgedResponse.flag();
+        }));
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testHedgedLatencyNotRecorded(VertxTestContext ctx) {
+    final AtomicInteger recorded = new AtomicInteger();
+    client.close();
+    client = VertxNioAsyncHttpClient.builder()
+      .context(vertx.getOrCreateContext())
+      .hedging(new HedgingPolicy() {
+          @Override
+          synchronized void record(long latencyNanos) {
+            recorded.incrementAndGet();
+            super.record(latencyNanos);
+          }
+        }
+        .setMinSamples(1)
+        .setMinDelay(Duration.ofMillis(100)))
+      .build();
+    final AtomicInteger received = new AtomicInteger();
+    server.requestHandler(req -> {
+      final int n = received.incrementAndGet();
+      // the first attempt of the second request never gets a response
+      if (n != 2) {
+        req.response().end("response " + n);
+      }
+    });
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      get(new StringBuilder())
+        .thenCompose(v -> {
+          final StringBuilder body = new StringBuilder();
+          return get(body).thenApply(x -> body.toString());
+        })
+        .whenComplete((body, err) -> ctx.verify(() -> {
+          if (err != null) {
+            throw err;
+          }
+          assertEquals("response 3", body);
+          // only the latency of the first request is known, the hedged attempt answered early
+          assertEquals(1, recorded.get());
+          ctx.completeNow();
+        }));
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testHedgedAttemptHoldsPermit(VertxTestContext ctx) {
+    final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new ConcurrencyLimiterOptions()
+      .setInitialLimit(2));
+    client.close();
+    client = hedgingClient(limiter);
+    final AtomicInteger received = new AtomicInteger();
+    server.requestHandler(req -> {
+      final int n = received.incrementAndGet();
+      if (n == 3) {
+        // the hedged attempt of the second request
+        ctx.verify(() -> assertEquals(2, limiter.inFlight()));
+        req.response().end("response " + n);
+      } else if (n == 1) {
+        req.response().end("response " + n);
+      }
+    });
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      get(new StringBuilder())
+        .thenCompose(v -> {
+          final StringBuilder body = new StringBuilder();
+          return get(body).thenApply(x -> body.toString());
+        })
+        .whenComplete((body, err) -> vertx.setTimer(100, id -> ctx.verify(() -> {
+          if (err != null) {
+            throw err;
+          }
+          assertEquals("response 3", body);
+          // the permit of the cancelled attempt is released as well
+          assertEquals(0, limiter.inFlight());
+          ctx.completeNow();
+        })));
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testNoHedgingAtLimit(VertxTestContext ctx) {
+    final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new ConcurrencyLimiterOptions()
+      .setInitialLimit(1)
+      .setMaxLimit(1));
+    client.close();
+    client = hedgingClient(limiter);
+    final AtomicInteger received = new AtomicInteger();
+    server.requestHandler(req -> {
+      final int n = received.incrementAndGet();
+      // the second request is answered well after the hedging delay
+      vertx.setTimer(n == 1 ? 1 : 300, id -> req.response().end("response " + n));
+    });
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      get(new StringBuilder())
+        .thenCompose(v -> {
+          final StringBuilder body = new StringBuilder();
+          return get(body).thenApply(x -> body.toString());
+        })
+        .whenComplete((body, err) -> ctx.verify(() -> {
+          if (err != null) {
+            throw err;
+          }
+          assertEquals("response 2", body);
+          assertEquals(2, received.get());
+          ctx.completeNow();
+        }));
+    });
+  }
+
+  private SdkAsyncHttpClient hedgingClient(AdaptiveConcurrencyLimiter limiter) {
+    return VertxNioAsyncHttpClient.builder()
+      .context(vertx.getOrCreateContext())
+      .concurrencyLimiter(limiter)
+      .hedging(new HedgingPolicy()
+        .setMinSamples(1)
+        .setMinDelay(Duration.ofMillis(100)))
+      .build();
+  }
+
+  private CompletableFuture<Void> get(StringBuilder body) {
+    return client.execute(AsyncExecuteRequest.builder()
+      .request(SdkHttpRequest
+        .builder()
+        .protocol(SCHEME)
+        .host(HOST)
+        .port(PORT)
+        .method(SdkHttpMethod.GET)
+        .build())
+      .responseHandler(new SdkAsyncHttpResponseHandler() {
+        @Override
+        public void onHeaders(SdkHttpResponse headers) {
+        }
+
+        @Override
+        public void onStream(Publisher<ByteBuffer> stream) {
+          stream.subscribe(new SimpleSubscriber(chunk -> body.append(StandardCharsets.UTF_8.decode(chunk))));
+        }
+
+        @Override
+        public void onError(Throwable error) {
+        }
+      })
+      .build());
+  }
+}
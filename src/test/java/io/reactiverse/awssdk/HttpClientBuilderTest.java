@@ -0,0 +1,217 @@
+package io.reactiverse.awssdk;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(VertxExtension.class)
+public class HttpClientBuilderTest {
+
+  private static final int PORT = 8000;
+  private static final String HOST = "localhost";
+  private static final String SCHEME = "http";
+
+  private Vertx vertx;
+  private HttpServer server;
+  private SdkAsyncHttpClient client;
+
+  @BeforeEach
+  public void setUp() {
+    vertx = Vertx.vertx();
+    server = vertx.createHttpServer();
+    client = VertxNioAsyncHttpClient.builder()
+      .context(vertx.getOrCreateContext())
+      .maxConcurrency(1)
+      .connectionAcquisitionTimeout(Duration.ofMillis(200))
+      .build();
+  }
+
+  @AfterEach
+  public void tearDown(VertxTestContext ctx) {
+    client.close();
+    server.close(res -> {
+      assertTrue(res.succeeded());
+      ctx.completeNow();
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testConnectionAcquisitionTimeout(VertxTestContext ctx) {
+    // the first request holds the only connection of the pool forever
+    server.requestHandler(req -> {});
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      client.execute(get(new NoResponseExpected(ctx)));
+      client.execute(get(new NoResponseExpected(ctx) {
+        @Override
+        public void onError(Throwable error) {
+          ctx.completeNow();
+        }
+      }));
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testResponseTimeout(VertxTestContext ctx) {
+    client.close();
+    client = VertxNioAsyncHttpClient.builder()
+      .context(vertx.getOrCreateContext())
+      .responseTimeout(Duration.ofMillis(200))
+      .build();
+    final Checkpoint errorReported = ctx.checkpoint();
+    final Checkpoint connectionClosed = ctx.checkpoint();
+    server.requestHandler(req -> req.connection().closeHandler(v -> connectionClosed.flag()));
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      client.execute(get(new NoResponseExpected(ctx) {
+        @Override
+        public void onError(Throwable error) {
+          ctx.verify(() -> assertTrue(error instanceof SocketTimeoutException, "Unexpected error " + error));
+          errorReported.flag();
+        }
+      }));
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testReadTimeoutWhenBodyStalls(VertxTestContext ctx) {
+    client.close();
+    client = VertxNioAsyncHttpClient.builder()
+      .context(vertx.getOrCreateContext())
+      .readTimeout(Duration.ofMillis(200))
+      .build();
+    final Checkpoint bodyFailed = ctx.checkpoint();
+    final Checkpoint executionFailed = ctx.checkpoint();
+    final Checkpoint connectionClosed = ctx.checkpoint();
+    // the headers and the beginning of the body are sent, the rest never comes
+    server.requestHandler(req -> {
+      req.connection().closeHandler(v -> connectionClosed.flag());
+      req.response().setChunked(true).write("partial");
+    });
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      client.execute(get(new SdkAsyncHttpResponseHandler() {
+        @Override
+        public void onHeaders(SdkHttpResponse headers) {
+        }
+
+        @Override
+        public void onStream(Publisher<ByteBuffer> stream) {
+          stream.subscribe(new Subscriber<ByteBuffer>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+              subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer byteBuffer) {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+              ctx.verify(() -> assertTrue(t instanceof SocketTimeoutException, "Unexpected error " + t));
+              bodyFailed.flag();
+            }
+
+            @Override
+            public void onComplete() {
+              ctx.failNow(new AssertionError("The body should not complete"));
+            }
+          });
+        }
+
+        @Override
+        public void onError(Throwable error) {
+          ctx.failNow(error);
+        }
+      })).whenComplete((v, err) -> {
+        ctx.verify(() -> assertTrue(err instanceof SocketTimeoutException, "Unexpected error " + err));
+        executionFailed.flag();
+      });
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testCancellationResetsRequest(VertxTestContext ctx) {
+    final AtomicReference<CompletableFuture<Void>> execution = new AtomicReference<>();
+    server.requestHandler(req -> {
+      req.connection().closeHandler(v -> ctx.completeNow());
+      // as the SDK does when an attempt times out
+      execution.get().cancel(false);
+    });
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      execution.set(client.execute(get(new NoResponseExpected(ctx) {
+        @Override
+        public void onError(Throwable error) {
+        }
+      })));
+    });
+  }
+
+  private static AsyncExecuteRequest get(SdkAsyncHttpResponseHandler responseHandler) {
+    return AsyncExecuteRequest.builder()
+      .request(SdkHttpRequest
+        .builder()
+        .protocol(SCHEME)
+        .host(HOST)
+        .port(PORT)
+        .method(SdkHttpMethod.GET)
+        .build())
+      .responseHandler(responseHandler)
+      .build();
+  }
+
+  private static class NoResponseExpected implements SdkAsyncHttpResponseHandler {
+
+    private final VertxTestContext ctx;
+
+    NoResponseExpected(VertxTestContext ctx) {
+      this.ctx = ctx;
+    }
+
+    @Override
+    public void onHeaders(SdkHttpResponse headers) {
+      ctx.failNow(new AssertionError("No response was expected"));
+    }
+
+    @Override
+    public void onStream(Publisher<ByteBuffer> stream) {
+      ctx.failNow(new AssertionError("No response was expected"));
+    }
+
+    @Override
+    public void onError(Throwable error) {
+      ctx.failNow(error);
+    }
+  }
+}
@@ -0,0 +1,235 @@
+package io.reactiverse.awssdk;
+
+import io.netty.buffer.ByteBuf;
+import io.reactiverse.awssdk.converters.BufferConverter;
+import io.reactiverse.awssdk.reactivestreams.HttpClientRequestSubscriber;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.reactivestreams.Subscription;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(VertxExtension.class)
+public class HttpClientRequestSubscriberTest {
+
+  private static final int COALESCE_SIZE = 1024;
+
+  private Vertx vertx;
+  private Context context;
+  private final MultiMap headers = HttpHeaders.headers();
+  private final List<Buffer> written = new ArrayList<>();
+  private final List<Promise<Void>> writes = new ArrayList<>();
+  private boolean chunked;
+  private boolean ended;
+  private boolean reset;
+
+  @BeforeEach
+  public void setUp() {
+    vertx = Vertx.vertx();
+    context = vertx.getOrCreateContext();
+  }
+
+  @AfterEach
+  public void tearDown(VertxTestContext ctx) {
+    vertx.close(ctx.succeedingThenComplete());
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testSingleChunkWrittenWithoutCopy(VertxTestContext ctx) {
+    final byte[] body = new byte[100];
+    headers.set(HttpHeaders.CONTENT_LENGTH, "100");
+    context.runOnContext(v -> {
+      final HttpClientRequestSubscriber subscriber = subscriber();
+      subscriber.onNext(ByteBuffer.wrap(body));
+      // written right away, not at the end of the task
+      ctx.verify(() -> {
+        assertEquals(1, written.size());
+        final ByteBuf buf = BufferConverter.byteBuf(written.get(0));
+        assertTrue(buf.hasArray());
+        assertSame(body, buf.array(), "The chunk should not be copied");
+      });
+      subscriber.onComplete();
+      ctx.verify(() -> assertTrue(ended));
+      ctx.completeNow();
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testSmallChunksCoalesced(VertxTestContext ctx) {
+    context.runOnContext(v -> {
+      final HttpClientRequestSubscriber subscriber = subscriber();
+      for (int i = 0; i < 10; i++) {
+        subscriber.onNext(chunk(100, i));
+      }
+      ctx.verify(() -> {
+        assertTrue(chunked);
+        assertTrue(written.isEmpty(), "Small chunks should be gathered");
+      });
+      // written once the current task is over
+      context.runOnContext(v2 -> ctx.verify(() -> {
+        assertEquals(1, written.size());
+        assertEquals(expected(100, 10), written.get(0));
+        final ByteBuf pooled = BufferConverter.byteBuf(written.get(0));
+        assertTrue(pooled.refCnt() > 0);
+        writes.get(0).complete();
+        assertEquals(0, pooled.refCnt(), "The pooled buffer should be released once written");
+        ctx.completeNow();
+      }));
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testLargeChunkFlushesPending(VertxTestContext ctx) {
+    final ByteBuffer large = chunk(COALESCE_SIZE, 0);
+    context.runOnContext(v -> {
+      final HttpClientRequestSubscriber subscriber = subscriber();
+      subscriber.onNext(chunk(100, 0));
+      subscriber.onNext(chunk(100, 1));
+      subscriber.onNext(large);
+      ctx.verify(() -> {
+        assertEquals(2, written.size());
+        assertEquals(expected(100, 2), written.get(0));
+        assertSame(large.array(), BufferConverter.byteBuf(written.get(1)).array());
+      });
+      ctx.completeNow();
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testLastChunkCompletesPending(VertxTestContext ctx) {
+    headers.set(HttpHeaders.CONTENT_LENGTH, "300");
+    context.runOnContext(v -> {
+      final HttpClientRequestSubscriber subscriber = subscriber();
+      subscriber.onNext(chunk(100, 0));
+      subscriber.onNext(chunk(100, 1));
+      ctx.verify(() -> assertTrue(written.isEmpty()));
+      subscriber.onNext(chunk(100, 2));
+      // the body is complete, nothing to wait for
+      ctx.verify(() -> {
+        assertEquals(1, written.size());
+        assertEquals(expected(100, 3), written.get(0));
+      });
+      ctx.completeNow();
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testFailedWriteReleasesBuffer(VertxTestContext ctx) {
+    context.runOnContext(v -> {
+      final HttpClientRequestSubscriber subscriber = subscriber();
+      subscriber.onNext(chunk(100, 0));
+      subscriber.onComplete();
+      ctx.verify(() -> {
+        assertEquals(1, written.size());
+        final ByteBuf pooled = BufferConverter.byteBuf(written.get(0));
+        writes.get(0).fail("Connection closed");
+        assertEquals(0, pooled.refCnt(), "The pooled buffer should be released once the write is over");
+      });
+      ctx.completeNow();
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testErrorResetsRequest(VertxTestContext ctx) {
+    context.runOnContext(v -> {
+      final HttpClientRequestSubscriber subscriber = subscriber();
+      subscriber.onNext(chunk(100, 0));
+      subscriber.onError(new IllegalStateException("Publisher failed"));
+      context.runOnContext(v2 -> ctx.verify(() -> {
+        assertTrue(reset);
+        // the gathered chunks are dropped
+        assertTrue(written.isEmpty());
+        ctx.completeNow();
+      }));
+    });
+  }
+
+  private HttpClientRequestSubscriber subscriber() {
+    final HttpClientRequestSubscriber subscriber = new HttpClientRequestSubscriber(request(), 16, COALESCE_SIZE);
+    subscriber.onSubscribe(new Subscription() {
+      @Override
+      public void request(long n) {
+      }
+
+      @Override
+      public void cancel() {
+      }
+    });
+    return subscriber;
+  }
+
+  private static ByteBuffer chunk(int size, int index) {
+    final byte[] bytes = new byte[size];
+    for (int i = 0; i < size; i++) {
+      bytes[i] = (byte) (index * size + i);
+    }
+    return ByteBuffer.wrap(bytes);
+  }
+
+  private static Buffer expected(int size, int chunks) {
+    final Buffer buffer = Buffer.buffer();
+    for (int i = 0; i < chunks; i++) {
+      buffer.appendBytes(chunk(size, i).array());
+    }
+    return buffer;
+  }
+
+  /**
+   * Records the writes, which complete when the test says so.
+   */
+  private HttpClientRequest request() {
+    return (HttpClientRequest) Proxy.newProxyInstance(HttpClientRequest.class.getClassLoader(), new Class<?>[]{HttpClientRequest.class}, (proxy, method, args) -> {
+      switch (method.getName()) {
+        case "headers":
+          return headers;
+        case "isChunked":
+          return chunked;
+        case "setChunked":
+          chunked = (Boolean) args[0];
+          return proxy;
+        case "write":
+          final Promise<Void> write = Promise.promise();
+          written.add((Buffer) args[0]);
+          writes.add(write);
+          return write.future();
+        case "writeQueueFull":
+          return false;
+        case "end":
+          ended = true;
+          return Future.succeededFuture();
+        case "reset":
+          reset = true;
+          return true;
+        default:
+          throw new UnsupportedOperationException(method.getName());
+      }
+    });
+  }
+}
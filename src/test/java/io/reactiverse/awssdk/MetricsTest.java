@@ -0,0 +1,215 @@
+package io.reactiverse.awssdk;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(VertxExtension.class)
+public class MetricsTest {
+
+  private static final int PORT = 8000;
+  private static final String HOST = "localhost";
+  private static final String SCHEME = "http";
+
+  private Vertx vertx;
+  private HttpServer server;
+  private VertxNioAsyncHttpClient client;
+  // the response held by the server, the other requests are answered right away
+  private final AtomicReference<HttpServerResponse> held = new AtomicReference<>();
+
+  @BeforeEach
+  public void setUp() {
+    vertx = Vertx.vertx();
+    server = vertx.createHttpServer();
+    server.requestHandler(req -> {
+      if ("/hold".equals(req.path())) {
+        held.set(req.response());
+      } else {
+        req.response().end();
+      }
+    });
+    client = VertxNioAsyncHttpClient.builder()
+      .context(vertx.getOrCreateContext())
+      .maxConcurrency(1)
+      .connectionAcquisitionTimeout(Duration.ofMillis(200))
+      .build();
+  }
+
+  @AfterEach
+  public void tearDown(VertxTestContext ctx) {
+    client.close();
+    server.close(res -> {
+      assertTrue(res.succeeded());
+      vertx.close(ctx.succeedingThenComplete());
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testConcurrencyMetrics(VertxTestContext ctx) {
+    final MetricCollector first = MetricCollector.create("first");
+    final MetricCollector second = MetricCollector.create("second");
+    final MetricCollector third = MetricCollector.create("third");
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      final CompletableFuture<Void> holding = execute("/hold", first);
+      vertx.setTimer(50, id -> {
+        // both wait for the connection of the first request
+        final CompletableFuture<Void> queued = execute("/", second);
+        final CompletableFuture<Void> last = execute("/", third);
+        vertx.setTimer(50, id2 -> release());
+        CompletableFuture.allOf(holding, queued, last).whenComplete((v, err) -> ctx.verify(() -> {
+          assertTrue(err == null, "Unexpected error " + err);
+          assertConcurrency(first.collect(), 1, 0);
+          // the third request still waits when the second gets the connection
+          assertConcurrency(second.collect(), 1, 1);
+          assertConcurrency(third.collect(), 1, 0);
+          ctx.completeNow();
+        }));
+      });
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testMetricsAfterFailedAcquisition(VertxTestContext ctx) {
+    final MetricCollector timedOut = MetricCollector.create("timedOut");
+    final MetricCollector otherEndpoint = MetricCollector.create("otherEndpoint");
+    final MetricCollector next = MetricCollector.create("next");
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      final CompletableFuture<Void> holding = execute(HOST, "/hold", MetricCollector.create("held"));
+      execute(HOST, "/", timedOut).whenComplete((v, err) -> ctx.verify(() -> {
+        assertTrue(err instanceof TimeoutException, "Unexpected error " + err);
+        assertTrue(timedOut.collect().metricValues(HttpMetric.LEASED_CONCURRENCY).isEmpty());
+        // the timed out acquisition is no longer pending, though it still waits for the connection in Vert.x
+        execute("127.0.0.1", "/", otherEndpoint).whenComplete((x, err2) -> ctx.verify(() -> {
+          assertTrue(err2 == null, "Unexpected error " + err2);
+          assertConcurrency(otherEndpoint.collect(), 2, 0);
+          release();
+          holding.thenCompose(y -> execute(HOST, "/", next)).whenComplete((y, err3) -> ctx.verify(() -> {
+            assertTrue(err3 == null, "Unexpected error " + err3);
+            assertConcurrency(next.collect(), 1, 0);
+            ctx.completeNow();
+          }));
+        }));
+      }));
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testMetricsAfterConnectionFailure(VertxTestContext ctx) {
+    final MetricCollector next = MetricCollector.create("next");
+    // nothing listens yet
+    execute("/", MetricCollector.create("refused")).whenComplete((v, err) -> ctx.verify(() -> {
+      assertTrue(err != null, "The connection should be refused");
+      server.listen(PORT, HOST, res -> {
+        assertTrue(res.succeeded());
+        execute("/", next).whenComplete((x, err2) -> ctx.verify(() -> {
+          assertTrue(err2 == null, "Unexpected error " + err2);
+          assertConcurrency(next.collect(), 1, 0);
+          ctx.completeNow();
+        }));
+      });
+    }));
+  }
+
+  private void release() {
+    // the held request may not have reached the server yet
+    if (held.get() == null) {
+      vertx.setTimer(10, id -> release());
+    } else {
+      held.get().end();
+    }
+  }
+
+  private static void assertConcurrency(MetricCollection metrics, int leased, int pending) {
+    assertEquals(Collections.singletonList(1), metrics.metricValues(HttpMetric.MAX_CONCURRENCY));
+    assertEquals(Collections.singletonList(leased), metrics.metricValues(HttpMetric.LEASED_CONCURRENCY));
+    assertEquals(Collections.singletonList(Math.max(0, 1 - leased)), metrics.metricValues(HttpMetric.AVAILABLE_CONCURRENCY));
+    assertEquals(Collections.singletonList(pending), metrics.metricValues(HttpMetric.PENDING_CONCURRENCY_ACQUIRES));
+    assertEquals(Collections.singletonList("Vertx"), metrics.metricValues(HttpMetric.HTTP_CLIENT_NAME));
+  }
+
+  private CompletableFuture<Void> execute(String path, MetricCollector metrics) {
+    return execute(HOST, path, metrics);
+  }
+
+  private CompletableFuture<Void> execute(String host, String path, MetricCollector metrics) {
+    return client.execute(AsyncExecuteRequest.builder()
+      .request(SdkHttpRequest
+        .builder()
+        .protocol(SCHEME)
+        .host(host)
+        .port(PORT)
+        .encodedPath(path)
+        .method(SdkHttpMethod.GET)
+        .build())
+      .responseHandler(new DrainingHandler())
+      .metricCollector(metrics)
+      .build());
+  }
+
+  private static class DrainingHandler implements SdkAsyncHttpResponseHandler {
+
+    @Override
+    public void onHeaders(SdkHttpResponse headers) {
+    }
+
+    @Override
+    public void onStream(Publisher<ByteBuffer> stream) {
+      stream.subscribe(new Subscriber<ByteBuffer>() {
+        @Override
+        public void onSubscribe(Subscription subscription) {
+          subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+      });
+    }
+
+    @Override
+    public void onError(Throwable error) {
+    }
+  }
+}
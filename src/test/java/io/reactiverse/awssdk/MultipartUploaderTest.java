@@ -0,0 +1,274 @@
+package io.reactiverse.awssdk;
+
+import io.reactiverse.awssdk.s3.MultipartUploadOptions;
+import io.reactiverse.awssdk.s3.VertxS3MultipartUploader;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(VertxExtension.class)
+public class MultipartUploaderTest {
+
+  private static final long PART_SIZE = MultipartUploadOptions.MIN_PART_SIZE;
+  private static final long SIZE = 4 * PART_SIZE + 1234;
+
+  private Vertx vertx;
+  private Path file;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    vertx = Vertx.vertx();
+    file = Files.createTempFile("multipart", ".bin");
+    Files.write(file, new byte[(int) SIZE]);
+  }
+
+  @AfterEach
+  public void tearDown(VertxTestContext ctx) throws IOException {
+    Files.deleteIfExists(file);
+    vertx.close(ctx.succeedingThenComplete());
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testStreamUploadBoundsConcurrency(VertxTestContext ctx) {
+    final FakeS3 s3 = new FakeS3(false);
+    // enough buffers to read the whole stream while the first parts are uploaded
+    final VertxS3MultipartUploader uploader = new VertxS3MultipartUploader(vertx, s3, new MultipartUploadOptions()
+      .setPartSize(PART_SIZE)
+      .setConcurrency(2)
+      .setBufferPoolSize(5));
+    vertx.fileSystem().open(file.toString(), new OpenOptions().setRead(true))
+      .compose(source -> uploader.upload(request(), source))
+      .onComplete(ctx.succeeding(res -> ctx.verify(() -> {
+        assertEquals(2, s3.maxInFlight.get());
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), s3.completedParts);
+        assertEquals(SIZE, s3.partSizes.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(1234L, s3.partSizes.get(5));
+        assertFalse(s3.aborted);
+        ctx.completeNow();
+      })));
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testFailedCompletionAbortsUpload(VertxTestContext ctx) {
+    final FakeS3 s3 = new FakeS3(true);
+    final VertxS3MultipartUploader uploader = new VertxS3MultipartUploader(vertx, s3, new MultipartUploadOptions()
+      .setPartSize(PART_SIZE));
+    vertx.fileSystem().open(file.toString(), new OpenOptions().setRead(true))
+      .compose(source -> uploader.upload(request(), source))
+      .onComplete(ctx.failing(err -> ctx.verify(() -> {
+        assertTrue(err instanceof SdkClientException, "Unexpected error " + err);
+        assertTrue(s3.aborted);
+        ctx.completeNow();
+      })));
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testFailedPartStopsReadingStream(VertxTestContext ctx) {
+    final FakeS3 s3 = new FakeS3(false, true);
+    final EndlessStream source = new EndlessStream();
+    final VertxS3MultipartUploader uploader = new VertxS3MultipartUploader(vertx, s3, new MultipartUploadOptions()
+      .setPartSize(PART_SIZE)
+      .setMaxPartAttempts(1));
+    vertx.getOrCreateContext().runOnContext(v -> uploader.upload(request(), source)
+      .onComplete(ctx.failing(err -> ctx.verify(() -> {
+        assertTrue(err instanceof SdkClientException, "Unexpected error " + err);
+        assertTrue(s3.aborted);
+        assertTrue(source.paused, "The source should be paused");
+        assertNull(source.handler, "The source handler should be cleared");
+        ctx.completeNow();
+      }))));
+  }
+
+  private static CreateMultipartUploadRequest request() {
+    return CreateMultipartUploadRequest.builder().bucket("bucket").key("key").build();
+  }
+
+  /**
+   * Answers parts after a delay, so that the stream is read faster than the parts are uploaded.
+   */
+  private final class FakeS3 implements S3AsyncClient {
+
+    private final boolean failCompletion;
+    private final boolean failParts;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final Map<Integer, Long> partSizes = new ConcurrentHashMap<>();
+    private volatile List<Integer> completedParts;
+    private volatile boolean aborted;
+
+    private FakeS3(boolean failCompletion) {
+      this(failCompletion, false);
+    }
+
+    private FakeS3(boolean failCompletion, boolean failParts) {
+      this.failCompletion = failCompletion;
+      this.failParts = failParts;
+    }
+
+    @Override
+    public CompletableFuture<CreateMultipartUploadResponse> createMultipartUpload(CreateMultipartUploadRequest request) {
+      return CompletableFuture.completedFuture(CreateMultipartUploadResponse.builder().uploadId("upload").build());
+    }
+
+    @Override
+    public CompletableFuture<UploadPartResponse> uploadPart(UploadPartRequest request, AsyncRequestBody body) {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      final CompletableFuture<UploadPartResponse> res = new CompletableFuture<>();
+      body.subscribe(new Subscriber<ByteBuffer>() {
+        private long size;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+          subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+          size += byteBuffer.remaining();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+          inFlight.decrementAndGet();
+          res.completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+          vertx.setTimer(50, id -> {
+            partSizes.put(request.partNumber(), size);
+            inFlight.decrementAndGet();
+            if (failParts) {
+              res.completeExceptionally(SdkClientException.create("Part failed"));
+              return;
+            }
+            res.complete(UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build());
+          });
+        }
+      });
+      return res;
+    }
+
+    @Override
+    public CompletableFuture<CompleteMultipartUploadResponse> completeMultipartUpload(CompleteMultipartUploadRequest request) {
+      completedParts = request.multipartUpload().parts().stream().map(CompletedPart::partNumber).collect(Collectors.toList());
+      final CompletableFuture<CompleteMultipartUploadResponse> res = new CompletableFuture<>();
+      if (failCompletion) {
+        res.completeExceptionally(SdkClientException.create("Completion failed"));
+      } else {
+        res.complete(CompleteMultipartUploadResponse.builder().build());
+      }
+      return res;
+    }
+
+    @Override
+    public CompletableFuture<AbortMultipartUploadResponse> abortMultipartUpload(AbortMultipartUploadRequest request) {
+      aborted = true;
+      return CompletableFuture.completedFuture(AbortMultipartUploadResponse.builder().build());
+    }
+
+    @Override
+    public String serviceName() {
+      return "s3";
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  /**
+   * Emits a part worth of data every few milliseconds while flowing, until it is paused or its handler cleared.
+   */
+  private final class EndlessStream implements ReadStream<Buffer> {
+
+    private final Buffer chunk = Buffer.buffer(new byte[(int) PART_SIZE]);
+    private Handler<Buffer> handler;
+    private boolean paused;
+
+    private EndlessStream() {
+      vertx.setPeriodic(5, id -> {
+        if (!paused && handler != null) {
+          handler.handle(chunk);
+        }
+      });
+    }
+
+    @Override
+    public ReadStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> handler(Handler<Buffer> handler) {
+      this.handler = handler;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> pause() {
+      paused = true;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+      paused = false;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> fetch(long amount) {
+      return resume();
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+      return this;
+    }
+  }
+}
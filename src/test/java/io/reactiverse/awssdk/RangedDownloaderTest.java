@@ -0,0 +1,256 @@
+package io.reactiverse.awssdk;
+
+import io.reactiverse.awssdk.s3.RangedDownloadOptions;
+import io.reactiverse.awssdk.s3.VertxS3RangedDownloader;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.streams.WriteStream;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(VertxExtension.class)
+public class RangedDownloaderTest {
+
+  private static final int RANGE_SIZE = 1000;
+  private static final byte[] CONTENT = new byte[4 * RANGE_SIZE + 123];
+  static {
+    for (int i = 0; i < CONTENT.length; i++) {
+      CONTENT[i] = (byte) (i % 251);
+    }
+  }
+
+  private Vertx vertx;
+  private Path file;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    vertx = Vertx.vertx();
+    file = Files.createTempFile("ranged", ".bin");
+  }
+
+  @AfterEach
+  public void tearDown(VertxTestContext ctx) throws IOException {
+    Files.deleteIfExists(file);
+    vertx.close(ctx.succeedingThenComplete());
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testRetriedRangeIsWrittenFromItsStart(VertxTestContext ctx) {
+    final FakeS3 s3 = new FakeS3();
+    // the second range fails in the middle of its body, and is retried by the SDK
+    s3.interrupted.add(RANGE_SIZE);
+    final VertxS3RangedDownloader downloader = new VertxS3RangedDownloader(vertx, s3, options());
+    vertx.fileSystem().open(file.toString(), new OpenOptions().setWrite(true))
+      .compose(asyncFile -> downloader.downloadToFile(request(), asyncFile)
+        .compose(size -> asyncFile.close().map(size)))
+      .onComplete(ctx.succeeding(size -> ctx.verify(() -> {
+        assertEquals(CONTENT.length, size);
+        assertArrayEquals(CONTENT, Files.readAllBytes(file));
+        ctx.completeNow();
+      })));
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testFailedRangeEndsTarget(VertxTestContext ctx) {
+    final FakeS3 s3 = new FakeS3();
+    s3.failing.add(2 * RANGE_SIZE);
+    final VertxS3RangedDownloader downloader = new VertxS3RangedDownloader(vertx, s3, options().setMaxRangeAttempts(2));
+    final RecordingStream target = new RecordingStream();
+    vertx.getOrCreateContext().runOnContext(v -> downloader.download(request(), target)
+      .onComplete(ctx.failing(err -> ctx.verify(() -> {
+        assertTrue(err instanceof SdkClientException, "Unexpected error " + err);
+        assertTrue(target.ended, "The target should be ended");
+        assertEquals(Buffer.buffer(Arrays.copyOf(CONTENT, 2 * RANGE_SIZE)), target.received);
+        ctx.completeNow();
+      }))));
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testDrainResumesOnDownloadContext(VertxTestContext ctx) {
+    final FakeS3 s3 = new FakeS3();
+    final VertxS3RangedDownloader downloader = new VertxS3RangedDownloader(vertx, s3, options());
+    final RecordingStream target = new RecordingStream();
+    target.full = true;
+    final Context downloadContext = vertx.getOrCreateContext();
+    downloadContext.runOnContext(v -> downloader.download(request(), target)
+      .onComplete(ctx.succeeding(size -> ctx.verify(() -> {
+        assertEquals(Buffer.buffer(CONTENT), target.received);
+        assertFalse(s3.contexts.isEmpty());
+        for (Context context : s3.contexts) {
+          assertEquals(downloadContext, context, "Ranges should be requested on the download context");
+        }
+        ctx.completeNow();
+      }))));
+    // the stream drains on another thread
+    vertx.setTimer(100, id -> new Thread(() -> {
+      target.full = false;
+      target.drainHandler.handle(null);
+    }).start());
+  }
+
+  private static RangedDownloadOptions options() {
+    return new RangedDownloadOptions()
+      .setRangeSize(RANGE_SIZE)
+      .setConcurrency(2);
+  }
+
+  private static GetObjectRequest request() {
+    return GetObjectRequest.builder().bucket("bucket").key("key").build();
+  }
+
+  /**
+   * Serves {@link #CONTENT}, ranges being identified by their start.
+   */
+  private static final class FakeS3 implements S3AsyncClient {
+
+    // always failing
+    private final Set<Integer> failing = ConcurrentHashMap.newKeySet();
+    // failing once in the middle of the body
+    private final Set<Integer> interrupted = ConcurrentHashMap.newKeySet();
+    private final List<Context> contexts = new CopyOnWriteArrayList<>();
+
+    @Override
+    public CompletableFuture<HeadObjectResponse> headObject(HeadObjectRequest request) {
+      return CompletableFuture.completedFuture(HeadObjectResponse.builder()
+        .contentLength((long) CONTENT.length)
+        .eTag("etag")
+        .build());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getObject(GetObjectRequest request, AsyncResponseTransformer<GetObjectResponse, T> transformer) {
+      contexts.add(Vertx.currentContext());
+      final String[] bounds = request.range().substring("bytes=".length()).split("-");
+      final int start = Integer.parseInt(bounds[0]);
+      final byte[] range = Arrays.copyOfRange(CONTENT, start, Integer.parseInt(bounds[1]) + 1);
+      if (failing.contains(start)) {
+        final CompletableFuture<T> res = new CompletableFuture<>();
+        res.completeExceptionally(SdkClientException.create("Range failed"));
+        return res;
+      }
+      if (interrupted.remove(start)) {
+        // as the SDK does when retrying a request whose body failed
+        transformer.prepare();
+        transformer.onResponse(GetObjectResponse.builder().build());
+        transformer.onStream(SdkPublisher.adapt(subscriber -> subscriber.onSubscribe(new Subscription() {
+          private boolean done;
+
+          @Override
+          public void request(long n) {
+            if (done) {
+              return;
+            }
+            done = true;
+            subscriber.onNext(ByteBuffer.wrap(range, 0, range.length / 2));
+            subscriber.onError(new IOException("Connection reset"));
+          }
+
+          @Override
+          public void cancel() {
+            done = true;
+          }
+        })));
+        transformer.exceptionOccurred(new IOException("Connection reset"));
+      }
+      final CompletableFuture<T> res = transformer.prepare();
+      transformer.onResponse(GetObjectResponse.builder().contentLength((long) range.length).build());
+      transformer.onStream(SdkPublisher.adapt(AsyncRequestBody.fromBytes(range)));
+      return res;
+    }
+
+    @Override
+    public String serviceName() {
+      return "s3";
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  private static final class RecordingStream implements WriteStream<Buffer> {
+
+    private final Buffer received = Buffer.buffer();
+    private volatile boolean full;
+    private volatile boolean ended;
+    private volatile Handler<Void> drainHandler;
+
+    @Override
+    public WriteStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public Future<Void> write(Buffer data) {
+      received.appendBuffer(data);
+      return Future.succeededFuture();
+    }
+
+    @Override
+    public void write(Buffer data, Handler<AsyncResult<Void>> handler) {
+      handler.handle(write(data));
+    }
+
+    @Override
+    public void end(Handler<AsyncResult<Void>> handler) {
+      ended = true;
+      handler.handle(Future.succeededFuture());
+    }
+
+    @Override
+    public WriteStream<Buffer> setWriteQueueMaxSize(int maxSize) {
+      return this;
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+      return full;
+    }
+
+    @Override
+    public WriteStream<Buffer> drainHandler(Handler<Void> handler) {
+      drainHandler = handler;
+      return this;
+    }
+  }
+}
@@ -0,0 +1,192 @@
+package io.reactiverse.awssdk;
+
+import io.netty.buffer.Unpooled;
+import io.reactiverse.awssdk.converters.BufferConverter;
+import io.reactiverse.awssdk.reactivestreams.ReadStreamPublisher;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(VertxExtension.class)
+public class ReadStreamPublisherTest {
+
+  private Vertx vertx;
+  private Context context;
+  private final List<ByteBuffer> received = new ArrayList<>();
+  private boolean completed;
+
+  @BeforeEach
+  public void setUp() {
+    vertx = Vertx.vertx();
+    context = vertx.getOrCreateContext();
+  }
+
+  @AfterEach
+  public void tearDown(VertxTestContext ctx) {
+    vertx.close(ctx.succeedingThenComplete());
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testViewsHandedWithoutCopy(VertxTestContext ctx) {
+    final byte[] first = chunk(100, 0);
+    final byte[] second = chunk(100, 1);
+    context.runOnContext(v -> {
+      final FakeStream stream = new FakeStream();
+      subscribe(new ReadStreamPublisher<>(stream, null, false));
+      stream.emit(BufferConverter.wrap(Unpooled.wrappedBuffer(first)));
+      ctx.verify(() -> {
+        assertEquals(1, received.size());
+        final ByteBuffer view = received.get(0);
+        assertTrue(view.hasArray());
+        assertSame(first, view.array(), "The chunk should not be copied");
+      });
+      // the stream is done with the first buffer, the subscriber still holds its view
+      stream.emit(BufferConverter.wrap(Unpooled.wrappedBuffer(second)));
+      stream.end();
+      ctx.verify(() -> {
+        assertTrue(completed);
+        assertEquals(2, received.size());
+        assertArrayEquals(chunk(100, 0), bytes(received.get(0)), "The view should stay valid after onNext");
+        assertArrayEquals(chunk(100, 1), bytes(received.get(1)));
+      });
+      ctx.completeNow();
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testBuffersCopiedByDefault(VertxTestContext ctx) {
+    final byte[] body = chunk(100, 0);
+    context.runOnContext(v -> {
+      final FakeStream stream = new FakeStream();
+      subscribe(new ReadStreamPublisher<>(stream));
+      stream.emit(BufferConverter.wrap(Unpooled.wrappedBuffer(body)));
+      ctx.verify(() -> {
+        assertEquals(1, received.size());
+        assertNotSame(body, received.get(0).array(), "The chunk should be copied");
+        assertArrayEquals(body, bytes(received.get(0)));
+      });
+      ctx.completeNow();
+    });
+  }
+
+  private void subscribe(ReadStreamPublisher<Buffer> publisher) {
+    publisher.subscribe(new Subscriber<ByteBuffer>() {
+      @Override
+      public void onSubscribe(Subscription s) {
+        s.request(Long.MAX_VALUE);
+      }
+
+      @Override
+      public void onNext(ByteBuffer byteBuffer) {
+        received.add(byteBuffer);
+      }
+
+      @Override
+      public void onError(Throwable t) {
+      }
+
+      @Override
+      public void onComplete() {
+        completed = true;
+      }
+    });
+  }
+
+  private static byte[] chunk(int size, int index) {
+    final byte[] bytes = new byte[size];
+    for (int i = 0; i < size; i++) {
+      bytes[i] = (byte) (index * size + i);
+    }
+    return bytes;
+  }
+
+  private static byte[] bytes(ByteBuffer byteBuffer) {
+    final byte[] bytes = new byte[byteBuffer.remaining()];
+    byteBuffer.duplicate().get(bytes);
+    return bytes;
+  }
+
+  /**
+   * Emits the buffers the test gives it, as long as it is not paused.
+   */
+  private static final class FakeStream implements ReadStream<Buffer> {
+
+    private Handler<Buffer> handler;
+    private Handler<Void> endHandler;
+    private long demand = Long.MAX_VALUE;
+
+    private void emit(Buffer buffer) {
+      assertTrue(demand > 0, "Emitted without demand");
+      if (demand != Long.MAX_VALUE) {
+        demand--;
+      }
+      handler.handle(buffer);
+    }
+
+    private void end() {
+      endHandler.handle(null);
+    }
+
+    @Override
+    public ReadStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> handler(Handler<Buffer> handler) {
+      this.handler = handler;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> pause() {
+      demand = 0;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+      demand = Long.MAX_VALUE;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> fetch(long amount) {
+      demand += amount;
+      if (demand < 0) {
+        demand = Long.MAX_VALUE;
+      }
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+      this.endHandler = endHandler;
+      return this;
+    }
+  }
+}
@@ -12,14 +12,21 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.retry.backoff.FixedDelayBackoffStrategy;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.lambda.LambdaAsyncClient;
 import software.amazon.awssdk.services.lambda.LambdaAsyncClientBuilder;
 
 import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 @ExtendWith(VertxExtension.class)
@@ -81,13 +88,57 @@ class RetryContextTest {
                 });
     }
 
+    @Test
+    @Timeout(value = 20, timeUnit = TimeUnit.SECONDS)
+    void testRetryScheduledOnContext(Vertx vertx, VertxTestContext ctx) throws Exception {
+        Context originalContext = vertx.getOrCreateContext();
+        AtomicInteger scheduledOnContext = new AtomicInteger();
+        VertxScheduledExecutorService scheduler = new VertxScheduledExecutorService(originalContext) {
+            @Override
+            public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+                return super.schedule(() -> {
+                    if (Vertx.currentContext() == originalContext) {
+                        scheduledOnContext.incrementAndGet();
+                    }
+                    command.run();
+                }, delay, unit);
+            }
+        };
+        createLambdaClient(vertx, originalContext, scheduler)
+                .getFunction(gfb -> gfb.functionName("dummy"))
+                .whenComplete((resp, error) -> {
+                    if (error != null) {
+                        ctx.failNow(error);
+                    } else {
+                        ctx.verify(() -> {
+                            assertEquals(2, attempts);
+                            // the retry backoff ran on the context
+                            assertTrue(scheduledOnContext.get() > 0);
+                            ctx.completeNow();
+                        });
+                    }
+                });
+    }
+
     LambdaAsyncClient createLambdaClient(Vertx vertx, Context ctx) throws Exception {
+        return createLambdaClient(vertx, ctx, null);
+    }
+
+    LambdaAsyncClient createLambdaClient(Vertx vertx, Context ctx, VertxScheduledExecutorService scheduler) throws Exception {
         final URI lambdaURI = new URI("http://" + HOST + ":" + PORT);
         final LambdaAsyncClientBuilder builder =
                 LambdaAsyncClient.builder()
                         .credentialsProvider(credentialsProvider)
                         .region(Region.EU_WEST_1)
                         .endpointOverride(lambdaURI);
+        if (scheduler != null) {
+            // a fixed backoff, so that the retry is always scheduled
+            builder.overrideConfiguration(c -> c
+                    .scheduledExecutorService(scheduler)
+                    .retryPolicy(RetryPolicy.builder()
+                            .backoffStrategy(FixedDelayBackoffStrategy.create(Duration.ofMillis(50)))
+                            .build()));
+        }
         return VertxSdkClient
                 .withVertx(builder, ctx)
                 .httpClient(new ContextAssertVertxNioAsyncHttpClient(vertx, ctx)) // override on purpose, we look forward to assert that the context is always the same
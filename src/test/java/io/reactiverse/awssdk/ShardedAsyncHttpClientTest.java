@@ -0,0 +1,130 @@
+package io.reactiverse.awssdk;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.reactivestreams.Publisher;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.http.async.SimpleSubscriber;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(VertxExtension.class)
+public class ShardedAsyncHttpClientTest {
+
+  private static final int PORT = 8000;
+  private static final String HOST = "localhost";
+  private static final String SCHEME = "http";
+  private static final int REQUESTS = 8;
+
+  private Vertx vertx;
+  private HttpServer server;
+  private VertxShardedNioAsyncHttpClient client;
+
+  @BeforeEach
+  public void setUp(VertxTestContext ctx) {
+    vertx = Vertx.vertx();
+    server = vertx.createHttpServer();
+    VertxShardedNioAsyncHttpClient.create(vertx, 2, null, VertxShardedNioAsyncHttpClient.Strategy.ROUND_ROBIN)
+      .onComplete(ctx.succeeding(created -> {
+        client = created;
+        ctx.completeNow();
+      }));
+  }
+
+  @AfterEach
+  public void tearDown(VertxTestContext ctx) {
+    client.close();
+    server.close(res -> {
+      assertTrue(res.succeeded());
+      ctx.completeNow();
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testRequestsAreSpreadOverShards(VertxTestContext ctx) {
+    final Set<String> servedClientThreads = ConcurrentHashMap.newKeySet();
+    final AtomicInteger responses = new AtomicInteger();
+    final Checkpoint completed = ctx.checkpoint(REQUESTS);
+    server.requestHandler(req -> req.response().end("foo"));
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      final Context caller = vertx.getOrCreateContext();
+      caller.runOnContext(v -> {
+        for (int i = 0; i < REQUESTS; i++) {
+          client.execute(AsyncExecuteRequest.builder()
+              .request(SdkHttpRequest
+                .builder()
+                .protocol(SCHEME)
+                .host(HOST)
+                .port(PORT)
+                .method(SdkHttpMethod.GET)
+                .build())
+              .responseHandler(new SdkAsyncHttpResponseHandler() {
+                @Override
+                public void onHeaders(SdkHttpResponse headers) {
+                  servedClientThreads.add(Thread.currentThread().getName());
+                }
+
+                @Override
+                public void onStream(Publisher<ByteBuffer> stream) {
+                  stream.subscribe(new SimpleSubscriber(body -> {}));
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                  ctx.failNow(error);
+                }
+              })
+              .build())
+            .whenComplete((done, err) -> {
+              if (err != null) {
+                ctx.failNow(err);
+                return;
+              }
+              ctx.verify(() -> {
+                assertSame(caller, Vertx.currentContext(), "Execution should complete on the caller context");
+                if (responses.incrementAndGet() == REQUESTS) {
+                  assertEquals(2, servedClientThreads.size(), "Each shard should have handled responses on its own event loop");
+                }
+                completed.flag();
+              });
+            });
+        }
+      });
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testCloseUndeploysShards(VertxTestContext ctx) {
+    ctx.verify(() -> assertEquals(1, vertx.deploymentIDs().size()));
+    client.close();
+    vertx.setTimer(100, id -> ctx.verify(() -> {
+      assertTrue(vertx.deploymentIDs().isEmpty(), "The shard contexts should have been released");
+      ctx.completeNow();
+    }));
+  }
+
+}
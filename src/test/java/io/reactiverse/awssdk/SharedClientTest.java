@@ -0,0 +1,156 @@
+package io.reactiverse.awssdk;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.net.TrustOptions;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
+
+import javax.net.ssl.TrustManagerFactory;
+import java.net.URI;
+import java.security.KeyStore;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(VertxExtension.class)
+public class SharedClientTest {
+
+  private static final int PORT = 8000;
+  private static final String HOST = "localhost";
+
+  private Vertx vertx;
+  private HttpServer server;
+  private final AtomicInteger opened = new AtomicInteger();
+  private final AtomicInteger closed = new AtomicInteger();
+
+  @BeforeEach
+  public void setUp() {
+    vertx = Vertx.vertx();
+    server = vertx.createHttpServer();
+    server.connectionHandler(conn -> {
+      opened.incrementAndGet();
+      conn.closeHandler(v -> closed.incrementAndGet());
+    });
+    server.requestHandler(req -> req.response().end());
+  }
+
+  @AfterEach
+  public void tearDown(VertxTestContext ctx) {
+    server.close(res -> {
+      assertTrue(res.succeeded());
+      vertx.close(ctx.succeedingThenComplete());
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testClientsSharePool(VertxTestContext ctx) {
+    final Context context = vertx.getOrCreateContext();
+    final S3AsyncClient first = s3(context);
+    final S3AsyncClient second = s3(context);
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      headBucket(first)
+        .thenCompose(v -> headBucket(second))
+        .whenComplete((v, err) -> ctx.verify(() -> {
+          assertNull(err);
+          // the second client reuses the connection of the first one
+          assertEquals(1, opened.get());
+          first.close();
+          vertx.setTimer(200, id -> ctx.verify(() -> {
+            assertEquals(0, closed.get(), "The pool should stay open while a client uses it");
+            second.close();
+            vertx.setPeriodic(20, timerId -> {
+              if (closed.get() == 1) {
+                vertx.cancelTimer(timerId);
+                ctx.completeNow();
+              }
+            });
+          }));
+        }));
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testDifferentSettingsDontShare(VertxTestContext ctx) {
+    final Context context = vertx.getOrCreateContext();
+    final S3AsyncClient first = s3(context);
+    final S3AsyncClient second = VertxSdkClient.withVertx(s3Builder(),
+      VertxNioAsyncHttpClient.builder().shared(true).maxConcurrency(7), context).build();
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      headBucket(first)
+        .thenCompose(v -> headBucket(second))
+        .whenComplete((v, err) -> ctx.verify(() -> {
+          assertNull(err);
+          assertEquals(2, opened.get());
+          first.close();
+          second.close();
+          ctx.completeNow();
+        }));
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testCustomTlsOptionsRequireName(VertxTestContext ctx) throws Exception {
+    final Context context = vertx.getOrCreateContext();
+    final TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+    trustManagers.init((KeyStore) null);
+    final HttpClientOptions options = new HttpClientOptions().setTrustOptions(TrustOptions.wrap(trustManagers.getTrustManagers()[0]));
+    // the custom trust manager is not encoded, it can't tell whether the clients are configured identically
+    assertThrows(IllegalArgumentException.class, () -> VertxSdkClient.withVertx(s3Builder(),
+      VertxNioAsyncHttpClient.builder().shared(true).clientOptions(options), context).build());
+    final S3AsyncClient first = VertxSdkClient.withVertx(s3Builder(),
+      VertxNioAsyncHttpClient.builder().sharedName("s3").clientOptions(options), context).build();
+    final S3AsyncClient second = VertxSdkClient.withVertx(s3Builder(),
+      VertxNioAsyncHttpClient.builder().sharedName("s3").clientOptions(options), context).build();
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      headBucket(first)
+        .thenCompose(v -> headBucket(second))
+        .whenComplete((v, err) -> ctx.verify(() -> {
+          assertNull(err);
+          assertEquals(1, opened.get());
+          first.close();
+          second.close();
+          ctx.completeNow();
+        }));
+    });
+  }
+
+  private static S3AsyncClient s3(Context context) {
+    return VertxSdkClient.withVertx(s3Builder(), VertxNioAsyncHttpClient.builder().shared(true), context).build();
+  }
+
+  private static S3AsyncClientBuilder s3Builder() {
+    return S3AsyncClient.builder()
+      .region(Region.EU_WEST_1)
+      .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("a", "a")))
+      .endpointOverride(URI.create("http://" + HOST + ":" + PORT))
+      .forcePathStyle(true);
+  }
+
+  private static CompletableFuture<Void> headBucket(S3AsyncClient s3) {
+    return s3.headBucket(b -> b.bucket("bucket")).thenApply(res -> null);
+  }
+}
@@ -0,0 +1,133 @@
+package io.reactiverse.awssdk;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.lambda.LambdaAsyncClient;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(VertxExtension.class)
+public class WarmUpTest {
+
+  private static final int PORT = 8000;
+  private static final String HOST = "localhost";
+
+  private Vertx vertx;
+  private HttpServer server;
+  private VertxNioAsyncHttpClient client;
+  private final AtomicInteger connections = new AtomicInteger();
+  private final AtomicInteger requests = new AtomicInteger();
+
+  @BeforeEach
+  public void setUp() {
+    vertx = Vertx.vertx();
+    server = vertx.createHttpServer();
+    server.connectionHandler(conn -> connections.incrementAndGet());
+    server.requestHandler(req -> {
+      requests.incrementAndGet();
+      // AWS endpoints answer anything but what a signed request expects
+      req.response().setStatusCode(req.method() == HttpMethod.HEAD ? 404 : 200).end();
+    });
+    client = VertxNioAsyncHttpClient.builder()
+      .context(vertx.getOrCreateContext())
+      .maxConcurrency(10)
+      .build();
+  }
+
+  @AfterEach
+  public void tearDown(VertxTestContext ctx) {
+    client.close();
+    server.close(res -> {
+      assertTrue(res.succeeded());
+      ctx.completeNow();
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testWarmUpOpensConnections(VertxTestContext ctx) {
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      client.warmUp(URI.create("http://" + HOST + ":" + PORT), 4)
+        .onComplete(ctx.succeeding(v -> ctx.verify(() -> {
+          assertEquals(4, connections.get());
+          assertEquals(4, requests.get());
+          ctx.completeNow();
+        })));
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testWarmUpCappedToPoolSize(VertxTestContext ctx) {
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      // more connections than the pool allows
+      client.warmUp(URI.create("http://" + HOST + ":" + PORT), 15)
+        .onComplete(ctx.succeeding(v -> ctx.verify(() -> {
+          assertEquals(10, connections.get());
+          assertEquals(10, requests.get());
+          ctx.completeNow();
+        })));
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testBuildWarm(VertxTestContext ctx) {
+    final URI endpoint = URI.create("http://" + HOST + ":" + PORT);
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      VertxSdkClient.buildWarm(LambdaAsyncClient.builder()
+          .region(Region.EU_WEST_1)
+          .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("a", "a")))
+          .endpointOverride(endpoint),
+        VertxNioAsyncHttpClient.builder(), vertx.getOrCreateContext(), endpoint, 3)
+        .onComplete(ctx.succeeding(lambda -> ctx.verify(() -> {
+          assertNotNull(lambda);
+          assertEquals(3, connections.get());
+          lambda.close();
+          ctx.completeNow();
+        })));
+    });
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testBuildWarmLeavesBuilderUntouched(VertxTestContext ctx) {
+    final URI endpoint = URI.create("http://" + HOST + ":" + PORT);
+    final VertxNioAsyncHttpClient.Builder httpClientBuilder = VertxNioAsyncHttpClient.builder();
+    server.listen(PORT, HOST, res -> {
+      assertTrue(res.succeeded());
+      VertxSdkClient.buildWarm(LambdaAsyncClient.builder()
+          .region(Region.EU_WEST_1)
+          .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("a", "a")))
+          .endpointOverride(endpoint),
+        httpClientBuilder, vertx.getOrCreateContext(), endpoint, 1)
+        .onComplete(ctx.succeeding(lambda -> ctx.verify(() -> {
+          lambda.close();
+          // the context was only set on the copy the SDK client was built with
+          assertThrows(NullPointerException.class, httpClientBuilder::build);
+          ctx.completeNow();
+        })));
+    });
+  }
+}
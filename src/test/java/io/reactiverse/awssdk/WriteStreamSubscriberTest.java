@@ -0,0 +1,195 @@
+package io.reactiverse.awssdk;
+
+import io.reactiverse.awssdk.reactivestreams.WriteStreamSubscriber;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(VertxExtension.class)
+public class WriteStreamSubscriberTest {
+
+  private static final int ITEMS = 200;
+  private static final long PREFETCH = 8;
+  private static final int MAX_QUEUE_SIZE = 4;
+
+  private Vertx vertx;
+  private Context context;
+
+  @BeforeEach
+  public void setUp() {
+    vertx = Vertx.vertx();
+    context = vertx.getOrCreateContext();
+  }
+
+  @AfterEach
+  public void tearDown(VertxTestContext ctx) {
+    vertx.close(ctx.succeedingThenComplete());
+  }
+
+  @Test
+  @Timeout(value = 15, timeUnit = TimeUnit.SECONDS)
+  public void testDemandBoundedBySlowStream(VertxTestContext ctx) {
+    final SlowStream stream = new SlowStream();
+    final Publisher publisher = new Publisher(stream);
+    final CompletableFuture<WriteStream<Buffer>> done = new CompletableFuture<>();
+    context.runOnContext(v -> publisher.subscribe(new WriteStreamSubscriber<>(stream, done, PREFETCH)));
+    done.whenComplete((s, err) -> ctx.verify(() -> {
+      assertTrue(err == null, "Unexpected error " + err);
+      assertEquals(ITEMS, stream.received.size());
+      for (int i = 0; i < ITEMS; i++) {
+        assertEquals(i, stream.received.get(i).getInt(0));
+      }
+      assertTrue(publisher.maxOutstanding <= PREFETCH, "Outstanding demand went up to " + publisher.maxOutstanding);
+      assertEquals(0, publisher.requestsWhileFull, "Items were requested while the write queue was full");
+      // the stream only queues what was requested before it got full
+      assertTrue(stream.maxQueued <= MAX_QUEUE_SIZE + PREFETCH, "The write queue went up to " + stream.maxQueued);
+      assertTrue(stream.drained > 0, "The stream should have been drained");
+      ctx.completeNow();
+    }));
+  }
+
+  /**
+   * Emits items as soon as they are requested, one per context task.
+   */
+  private final class Publisher {
+
+    private final SlowStream stream;
+    private Subscriber<? super ByteBuffer> subscriber;
+    private long demand;
+    private int emitted;
+    private boolean emitting;
+    private long maxOutstanding;
+    private int requestsWhileFull;
+
+    private Publisher(SlowStream stream) {
+      this.stream = stream;
+    }
+
+    private void subscribe(Subscriber<? super ByteBuffer> s) {
+      subscriber = s;
+      s.onSubscribe(new Subscription() {
+        @Override
+        public void request(long n) {
+          if (stream.writeQueueFull()) {
+            requestsWhileFull++;
+          }
+          demand += n;
+          maxOutstanding = Math.max(maxOutstanding, demand);
+          emit();
+        }
+
+        @Override
+        public void cancel() {
+        }
+      });
+    }
+
+    private void emit() {
+      if (emitting || demand == 0 || emitted == ITEMS) {
+        return;
+      }
+      emitting = true;
+      context.runOnContext(v -> {
+        emitting = false;
+        demand--;
+        final ByteBuffer item = ByteBuffer.allocate(4).putInt(0, emitted++);
+        subscriber.onNext(item);
+        if (emitted == ITEMS) {
+          subscriber.onComplete();
+        } else {
+          emit();
+        }
+      });
+    }
+  }
+
+  /**
+   * Writes one buffer every millisecond.
+   */
+  private final class SlowStream implements WriteStream<Buffer> {
+
+    private final List<Buffer> received = new ArrayList<>();
+    private int queued;
+    private int maxQueued;
+    private int drained;
+    private Handler<Void> drainHandler;
+    private long timerId = -1;
+
+    @Override
+    public WriteStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public Future<Void> write(Buffer data) {
+      received.add(data.copy());
+      queued++;
+      maxQueued = Math.max(maxQueued, queued);
+      if (timerId < 0) {
+        timerId = vertx.setPeriodic(1, id -> flush());
+      }
+      return Future.succeededFuture();
+    }
+
+    private void flush() {
+      if (--queued == 0) {
+        vertx.cancelTimer(timerId);
+        timerId = -1;
+      }
+      if (queued == MAX_QUEUE_SIZE / 2 && drainHandler != null) {
+        final Handler<Void> handler = drainHandler;
+        drainHandler = null;
+        drained++;
+        handler.handle(null);
+      }
+    }
+
+    @Override
+    public void write(Buffer data, Handler<AsyncResult<Void>> handler) {
+      handler.handle(write(data));
+    }
+
+    @Override
+    public void end(Handler<AsyncResult<Void>> handler) {
+      handler.handle(Future.succeededFuture());
+    }
+
+    @Override
+    public WriteStream<Buffer> setWriteQueueMaxSize(int maxSize) {
+      return this;
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+      return queued >= MAX_QUEUE_SIZE;
+    }
+
+    @Override
+    public WriteStream<Buffer> drainHandler(Handler<Void> handler) {
+      drainHandler = handler;
+      return this;
+    }
+  }
+}
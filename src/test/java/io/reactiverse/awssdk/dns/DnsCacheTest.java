@@ -0,0 +1,133 @@
+package io.reactiverse.awssdk.dns;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.dns.DnsClient;
+import io.vertx.core.net.SocketAddress;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DnsCacheTest {
+
+  private static final String HOST = "dynamodb.eu-west-1.amazonaws.com";
+  private static final long TTL = 200;
+
+  // the answers to the next lookups, a null list failing the lookup
+  private final List<List<String>> answers = new ArrayList<>();
+  private final List<Promise<List<String>>> lookups = new ArrayList<>();
+  private VertxDnsCache cache;
+
+  @BeforeEach
+  public void setUp() {
+    final DnsClient dnsClient = (DnsClient) Proxy.newProxyInstance(DnsClient.class.getClassLoader(), new Class<?>[]{DnsClient.class}, (proxy, method, args) -> {
+      switch (method.getName()) {
+        case "resolveA":
+          final Promise<List<String>> lookup = Promise.promise();
+          lookups.add(lookup);
+          if (!answers.isEmpty()) {
+            answer(lookup, answers.remove(0));
+          }
+          return lookup.future();
+        case "close":
+          return Future.succeededFuture();
+        default:
+          throw new UnsupportedOperationException(method.getName());
+      }
+    });
+    cache = new VertxDnsCache(dnsClient, new DnsCacheOptions()
+      .setTtl(Duration.ofMillis(TTL))
+      .setNegativeTtl(Duration.ofMillis(TTL)));
+  }
+
+  @Test
+  public void testCachesAddresses() {
+    answers.add(Arrays.asList("10.0.0.1"));
+    // resolved in the background, Vert.x resolves the first request itself
+    assertNull(cache.address(HOST, 443));
+    for (int i = 0; i < 10; i++) {
+      assertEquals(SocketAddress.inetSocketAddress(443, "10.0.0.1"), cache.address(HOST, 443));
+    }
+    assertEquals(1, lookups.size());
+    // the same instance is used by every request
+    assertSame(cache.address(HOST, 443), cache.address(HOST, 443));
+    assertEquals(SocketAddress.inetSocketAddress(80, "10.0.0.1"), cache.address(HOST, 80));
+  }
+
+  @Test
+  public void testRoundRobin() {
+    answers.add(Arrays.asList("10.0.0.1", "10.0.0.2", "10.0.0.3"));
+    assertTrue(cache.resolve(HOST).succeeded());
+    final List<String> hosts = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      hosts.add(cache.address(HOST, 443).host());
+    }
+    assertEquals(Arrays.asList("10.0.0.1", "10.0.0.2", "10.0.0.3", "10.0.0.1", "10.0.0.2", "10.0.0.3"), hosts);
+  }
+
+  @Test
+  public void testNegativeCaching() throws InterruptedException {
+    answers.add(null);
+    assertTrue(cache.resolve(HOST).failed());
+    // not looked up again until the negative TTL is over
+    for (int i = 0; i < 10; i++) {
+      assertNull(cache.address(HOST, 443));
+    }
+    assertEquals(1, lookups.size());
+    Thread.sleep(TTL + 50);
+    answers.add(Arrays.asList("10.0.0.1"));
+    assertNull(cache.address(HOST, 443));
+    assertEquals(2, lookups.size());
+    assertEquals(SocketAddress.inetSocketAddress(443, "10.0.0.1"), cache.address(HOST, 443));
+  }
+
+  @Test
+  public void testFailedResolutionKeepsPreviousAddresses() throws InterruptedException {
+    answers.add(Arrays.asList("10.0.0.1"));
+    assertTrue(cache.resolve(HOST).succeeded());
+    Thread.sleep(TTL + 50);
+    answers.add(Arrays.asList());
+    assertEquals(SocketAddress.inetSocketAddress(443, "10.0.0.1"), cache.address(HOST, 443));
+    assertEquals(2, lookups.size());
+    assertEquals(SocketAddress.inetSocketAddress(443, "10.0.0.1"), cache.address(HOST, 443));
+  }
+
+  @Test
+  public void testExpiredAddressesUsedWhileResolving() throws InterruptedException {
+    answers.add(Arrays.asList("10.0.0.1"));
+    assertTrue(cache.resolve(HOST).succeeded());
+    Thread.sleep(TTL + 50);
+    // the lookup is pending, requests keep using the expired address, without looking up the host again
+    assertEquals(SocketAddress.inetSocketAddress(443, "10.0.0.1"), cache.address(HOST, 443));
+    assertEquals(SocketAddress.inetSocketAddress(443, "10.0.0.1"), cache.address(HOST, 443));
+    assertEquals(2, lookups.size());
+    answer(lookups.get(1), Arrays.asList("10.0.0.2"));
+    assertEquals(SocketAddress.inetSocketAddress(443, "10.0.0.2"), cache.address(HOST, 443));
+    assertEquals(2, lookups.size());
+  }
+
+  @Test
+  public void testIpAddressesAreNotResolved() {
+    assertNull(cache.address("10.0.0.1", 443));
+    assertTrue(cache.resolve("10.0.0.1").succeeded());
+    assertTrue(lookups.isEmpty());
+  }
+
+  private static void answer(Promise<List<String>> lookup, List<String> addresses) {
+    if (addresses == null) {
+      lookup.fail("SERVFAIL");
+    } else {
+      lookup.complete(addresses);
+    }
+  }
+}
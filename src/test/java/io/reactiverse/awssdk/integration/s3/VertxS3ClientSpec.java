@@ -6,6 +6,10 @@ import cloud.localstack.docker.annotation.LocalstackDockerProperties;
 import io.reactiverse.awssdk.converters.VertxAsyncResponseTransformer;
 import io.reactiverse.awssdk.integration.LocalStackBaseSpec;
 import io.reactiverse.awssdk.reactivestreams.ReadStreamPublisher;
+import io.reactiverse.awssdk.s3.MultipartUploadOptions;
+import io.reactiverse.awssdk.s3.RangedDownloadOptions;
+import io.reactiverse.awssdk.s3.VertxS3MultipartUploader;
+import io.reactiverse.awssdk.s3.VertxS3RangedDownloader;
 import io.reactivex.Single;
 import io.vertx.codegen.annotations.Nullable;
 import io.vertx.core.AsyncResult;
@@ -35,6 +39,7 @@ import software.amazon.awssdk.core.internal.util.Mimetype;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.model.Bucket;
 import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectsRequest;
@@ -42,6 +47,9 @@ import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -288,6 +296,85 @@ class VertxS3ClientSpec extends LocalStackBaseSpec {
       }, ctx::failNow);
   }
 
+  @Test
+  @Order(9)
+  @Timeout(value = 60, timeUnit = TimeUnit.SECONDS)
+  void multipartUpload(Vertx vertx, VertxTestContext ctx) throws Exception {
+    final Context originalContext = vertx.getOrCreateContext();
+    final S3AsyncClient s3 = s3(originalContext);
+    final long size = 2 * MultipartUploadOptions.MIN_PART_SIZE + 1234;
+    final Path file = Files.createTempFile("multipart", ".bin");
+    file.toFile().deleteOnExit();
+    Files.write(file, new byte[(int) size]);
+    final VertxS3MultipartUploader uploader = new VertxS3MultipartUploader(vertx, s3, new MultipartUploadOptions()
+      .setPartSize(MultipartUploadOptions.MIN_PART_SIZE)
+      .setConcurrency(2));
+    originalContext.runOnContext(v -> uploader
+      .upload(CreateMultipartUploadRequest.builder().bucket(BUCKET_NAME).key("multipart").build(), file.toString())
+      .compose(res -> Future.fromCompletionStage(s3.headObject(b -> b.bucket(BUCKET_NAME).key("multipart")), originalContext))
+      .onComplete(ctx.succeeding(head -> ctx.verify(() -> {
+        assertEquals(size, head.contentLength());
+        ctx.completeNow();
+      }))));
+  }
+
+  @Test
+  @Order(10)
+  @Timeout(value = 60, timeUnit = TimeUnit.SECONDS)
+  void rangedDownload(Vertx vertx, VertxTestContext ctx) throws Exception {
+    final Context originalContext = vertx.getOrCreateContext();
+    final S3AsyncClient s3 = s3(originalContext);
+    final VertxS3RangedDownloader downloader = new VertxS3RangedDownloader(vertx, s3, new RangedDownloadOptions()
+      .setRangeSize(fileSize / 3 + 1)
+      .setConcurrency(2));
+    final byte[] expected = Files.readAllBytes(Paths.get(IMG_LOCAL_PATH));
+    final Buffer received = Buffer.buffer();
+    originalContext.runOnContext(v -> downloader
+      .download(GetObjectRequest.builder().bucket(BUCKET_NAME).key(IMG_S3_NAME).build(), new WriteStream<Buffer>() {
+        @Override
+        public WriteStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+          return this;
+        }
+
+        @Override
+        public Future<Void> write(Buffer data) {
+          received.appendBuffer(data);
+          return Future.succeededFuture();
+        }
+
+        @Override
+        public void write(Buffer data, Handler<AsyncResult<Void>> handler) {
+          received.appendBuffer(data);
+          handler.handle(Future.succeededFuture());
+        }
+
+        @Override
+        public void end(Handler<AsyncResult<Void>> handler) {
+          handler.handle(Future.succeededFuture());
+        }
+
+        @Override
+        public WriteStream<Buffer> setWriteQueueMaxSize(int maxSize) {
+          return this;
+        }
+
+        @Override
+        public boolean writeQueueFull() {
+          return false;
+        }
+
+        @Override
+        public WriteStream<Buffer> drainHandler(@Nullable Handler<Void> handler) {
+          return this;
+        }
+      })
+      .onComplete(ctx.succeeding(size -> ctx.verify(() -> {
+        assertEquals(fileSize, size);
+        assertEquals(Buffer.buffer(expected), received, "Ranges should be written in order");
+        ctx.completeNow();
+      }))));
+  }
+
     /* Utility methods */
     private static Single<AsyncFile> readFileFromDisk(Vertx vertx) {
         final io.vertx.reactivex.core.Vertx rxVertx = new io.vertx.reactivex.core.Vertx(vertx);